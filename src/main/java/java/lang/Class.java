@@ -107,12 +107,23 @@ public final class Class<T> {
     private boolean cproverIsMemberClass;
     private boolean cproverIsEnum;
 
-    // TODO: these fields are to enforce singleton semantics of
-    // Class objects as returned by Object.getClass() and Class.forName()
-    // The size is currently hard-coded which may lead to incorrect results.
-    // A map could be used here in future.
-    private static String[] cproverClassNames = new String[8];
-    private static Class<?>[] cproverClassInstances = new Class<?>[8];
+    // DIFFBLUE MODEL LIBRARY
+    // These fields enforce singleton semantics of Class objects as returned
+    // by Object.getClass() and Class.forName(): the first cproverClassCount
+    // entries map the name of each initialized class literal to the literal
+    // itself, so that the flags set by cproverInitializeClassLiteral are
+    // available. The size is fixed so that lookups are bounded loops.
+    // The arrays are allocated on first use, because class literals may be
+    // initialized before this class is.
+    private static final int CPROVER_MAX_CLASSES = 8;
+    private static String[] cproverClassNames;
+    private static Class<?>[] cproverClassInstances;
+    private static int cproverClassCount;
+
+    // DIFFBLUE MODEL LIBRARY
+    // Primitive classes have no class literal, so their canonical instances
+    // are kept here, indexed as in getPrimitiveClass(int).
+    private static Class<?>[] cproverPrimitiveClasses;
 
     public String toString() {
         return (isInterface() ? "interface " : (isPrimitive() ? "" : "class "))
@@ -169,26 +180,29 @@ public final class Class<T> {
     // TODO: This is a very partial model of the actual behaviour of the Java
     // forName method. The goal is to correctly model combinations of forName
     // and getName, but precisely following the JDK behaviour is more involved.
-    public static Class<?> forName(String className) {
-        CProver.notModelled();
-        throw new AssertionError();
-        /*
-        String foundName = null;
-        for (int i = 0; i < cproverClassNames.length; ++i) {
+    public static Class<?> forName(String className)
+        throws ClassNotFoundException {
+        if (className == null) {
+            throw new NullPointerException();
+        }
+        return cproverForName(className);
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Returns the class literal of the given name. Whether a class that has
+    // no initialized literal exists, and what its properties are, is not
+    // known, so that case is not modelled.
+    static Class<?> cproverForName(String className) {
+        // Names are compared by reference first, which succeeds for the
+        // constant names returned by CProver.classIdentifier.
+        for (int i = 0; i < cproverClassCount; i++) {
             String currentName = cproverClassNames[i];
-            if (currentName == null) {
-                Class<?> c = new Class();
-                c.name = className;
-                cproverClassNames[i] = className;
-                cproverClassInstances[i] = c;
-                return c;
-            }
-            if (className.equals(currentName)) {
+            if (currentName == className || className.equals(currentName)) {
                 return cproverClassInstances[i];
             }
         }
+        CProver.notModelled();
         return CProver.nondetWithoutNullForNotModelled();
-        */
     }
 
     public static Class<?> forName(String name, boolean initialize,
@@ -325,7 +339,7 @@ public final class Class<T> {
         else
         {
             String enclosing_name = CProverString.substring(name, 0, index);
-            return Class.forName(enclosing_name);
+            return Class.cproverForName(enclosing_name);
         }
     }
 
@@ -391,33 +405,34 @@ public final class Class<T> {
 
     public Class getSuperclass(){
         // TODO: here we assume no superclass which may not be correct
-        return Class.forName(null);
+        // return Class.forName(null);
+        return null;
     }
 
     public static Class getPrimitiveClass(String s){
         if("boolean".equals(s))
-            return Class.forName("boolean");
+            return getPrimitiveClass(0);
         if("char".equals(s))
-            return Class.forName("char");
+            return getPrimitiveClass(1);
         if("byte".equals(s))
-            return Class.forName("byte");
+            return getPrimitiveClass(2);
         if("short".equals(s))
-            return Class.forName("short");
+            return getPrimitiveClass(3);
         if("int".equals(s))
-            return Class.forName("int");
+            return getPrimitiveClass(4);
         if("long".equals(s))
-            return Class.forName("long");
+            return getPrimitiveClass(5);
         if("float".equals(s))
-            return Class.forName("float");
+            return getPrimitiveClass(6);
         if("double".equals(s))
-            return Class.forName("double");
+            return getPrimitiveClass(7);
         if("void".equals(s))
-            return Class.forName("void");
+            return getPrimitiveClass(8);
         // TODO: we should throw an exception but this does not seem to work well
         // at the moment, so we will assume it does not happen instead.
         // throw new IllegalArgumentException("Not primitive type : " + s);
         CProver.assume(false);
-        return Class.forName("");
+        return null;
     }
 
     // This version is nicer for the symbolic execution as it knows how to
@@ -428,22 +443,38 @@ public final class Class<T> {
     // takes 8 seconds while the int version takes 3 seconds.
     static Class getPrimitiveClass(int i){
         if(i==0)
-            return Class.forName("boolean");
+            return cproverPrimitiveClass(0, "boolean");
         if(i==1)
-            return Class.forName("char");
+            return cproverPrimitiveClass(1, "char");
         if(i==2)
-            return Class.forName("byte");
+            return cproverPrimitiveClass(2, "byte");
         if(i==3)
-            return Class.forName("short");
+            return cproverPrimitiveClass(3, "short");
         if(i==4)
-            return Class.forName("int");
+            return cproverPrimitiveClass(4, "int");
         if(i==5)
-            return Class.forName("long");
+            return cproverPrimitiveClass(5, "long");
         if(i==6)
-            return Class.forName("float");
+            return cproverPrimitiveClass(6, "float");
         if(i==7)
-            return Class.forName("double");
-        return Class.forName("void");
+            return cproverPrimitiveClass(7, "double");
+        return cproverPrimitiveClass(8, "void");
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Returns the canonical instance of the primitive class at the given
+    // index, creating it on first use.
+    private static Class<?> cproverPrimitiveClass(int index, String name) {
+        if (cproverPrimitiveClasses == null) {
+            cproverPrimitiveClasses = new Class<?>[9];
+        }
+        Class<?> c = cproverPrimitiveClasses[index];
+        if (c == null) {
+            c = new Class<>();
+            c.name = name;
+            cproverPrimitiveClasses[index] = c;
+        }
+        return c;
     }
 
     Map<String, T> enumConstantDirectory() {
@@ -554,6 +585,18 @@ public final class Class<T> {
         this.cproverIsLocalClass = isLocalClass;
         this.cproverIsMemberClass = isMemberClass;
         this.cproverIsEnum = isEnum;
+        // Each literal is initialized once, so it can be recorded without
+        // looking it up first. Literals that do not fit are not recorded,
+        // and looking them up by name is then not modelled.
+        if (cproverClassNames == null) {
+            cproverClassNames = new String[CPROVER_MAX_CLASSES];
+            cproverClassInstances = new Class<?>[CPROVER_MAX_CLASSES];
+        }
+        if (name != null && cproverClassCount < CPROVER_MAX_CLASSES) {
+            cproverClassNames[cproverClassCount] = name;
+            cproverClassInstances[cproverClassCount] = this;
+            cproverClassCount++;
+        }
     }
 
     /**
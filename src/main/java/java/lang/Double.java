@@ -28,9 +28,9 @@ package java.lang;
 import org.cprover.CProverString;
 // DIFFBLUE MODEL LIBRARY
 // removed for compatibility with Java 9 and newer
-// import sun.misc.FloatingDecimal;
 // import sun.misc.FpUtils;
 import sun.misc.DoubleConsts;
+import sun.misc.FloatingDecimal;
 import org.cprover.CProver;
 /**
  * The {@code Double} class wraps a value of the primitive type
@@ -548,11 +548,14 @@ public final class Double extends Number implements Comparable<Double> {
      * @see    java.lang.Double#valueOf(String)
      * @since 1.2
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * Invalid strings are rejected exactly as in the JDK, but the value is
+     * only computed for decimal strings with at most 15 significant digits
+     * and a decimal exponent between -22 and 22, and for NaN and
+     * Infinity. Other values are not modelled.
      */
     public static double parseDouble(String s) throws NumberFormatException {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        return FloatingDecimal.parseDouble(s);
     }
 
     /**
@@ -1082,9 +1085,10 @@ public final class Double extends Number implements Comparable<Double> {
      * @since 1.8
      */
     public static double max(double a, double b) {
-        double result = CProver.nondetDouble();
-        CProver.assume((result == a || result == b) && result >= a && result >= b);
-        return result;
+        // double result = CProver.nondetDouble();
+        // CProver.assume((result == a || result == b) && result >= a && result >= b);
+        // return result;
+        return Math.max(a, b);
     }
 
     /**
@@ -1098,9 +1102,10 @@ public final class Double extends Number implements Comparable<Double> {
      * @since 1.8
      */
     public static double min(double a, double b) {
-        double result = CProver.nondetDouble();
-        CProver.assume((result == a || result == b) && result <= a && result <= b);
-        return result;
+        // double result = CProver.nondetDouble();
+        // CProver.assume((result == a || result == b) && result <= a && result <= b);
+        // return result;
+        return Math.min(a, b);
     }
 
     /** use serialVersionUID from JDK 1.0.2 for interoperability */
@@ -225,16 +225,34 @@ public abstract class Enum<E extends Enum<E>>
      * @throws NullPointerException if {@code enumType} or {@code name}
      *         is null
      * @since 1.5
+     *
+     * @diffblue.fullSupport
      */
     public static <T extends Enum<T>> T valueOf(Class<T> enumType,
                                                 String name) {
-        T result = enumType.enumConstantDirectory().get(name);
-        if (result != null)
-            return result;
+        // DIFFBLUE MODEL LIBRARY
+        // The constants are searched directly instead of through
+        // Class.enumConstantDirectory, which would build a HashMap of all
+        // of them on every call.
+        // T result = enumType.enumConstantDirectory().get(name);
+        // if (result != null)
+        //     return result;
+        T[] universe = enumType.getEnumConstantsShared();
+        if (universe == null) {
+            // throw new IllegalArgumentException(
+            //     enumType.getName() + " is not an enum type");
+            throw new IllegalArgumentException();
+        }
         if (name == null)
             throw new NullPointerException("Name is null");
-        throw new IllegalArgumentException(
-            "No enum constant " + enumType.getCanonicalName() + "." + name);
+        for (int i = 0; i < universe.length; i++) {
+            if (name.equals(((Enum<?>) universe[i]).name)) {
+                return universe[i];
+            }
+        }
+        // throw new IllegalArgumentException(
+        //     "No enum constant " + enumType.getCanonicalName() + "." + name);
+        throw new IllegalArgumentException();
     }
 
     /**
@@ -25,9 +25,7 @@
 
 package java.lang;
 
-// DIFFBLUE MODEL LIBRARY
-// removed for compatibility with Java 9 and newer
-// import sun.misc.FloatingDecimal;
+import sun.misc.FloatingDecimal;
 import sun.misc.FloatConsts;
 import sun.misc.DoubleConsts;
 import org.cprover.CProver;
@@ -454,9 +452,15 @@ public final class Float extends Number implements Comparable<Float> {
      *               parsable {@code float}.
      * @see    java.lang.Float#valueOf(String)
      * @since 1.2
+     *
+     * @diffblue.limitedSupport
+     * Invalid strings are rejected exactly as in the JDK, but the value is
+     * only computed for decimal strings with at most 7 significant digits
+     * and a decimal exponent between -10 and 10, and for NaN and
+     * Infinity. Other values are not modelled.
      */
     public static float parseFloat(String s) throws NumberFormatException {
-        return CProver.nondetFloat(); //The function is handled by cbmc internally
+        return FloatingDecimal.parseFloat(s);
     }
 
     /**
@@ -979,9 +983,10 @@ public final class Float extends Number implements Comparable<Float> {
      * @since 1.8
      */
     public static float max(float a, float b) {
-        float result = CProver.nondetFloat();
-        CProver.assume((result == a || result == b) && result >= a && result >= b);
-        return result;
+        // float result = CProver.nondetFloat();
+        // CProver.assume((result == a || result == b) && result >= a && result >= b);
+        // return result;
+        return Math.max(a, b);
     }
 
     /**
@@ -995,9 +1000,10 @@ public final class Float extends Number implements Comparable<Float> {
      * @since 1.8
      */
     public static float min(float a, float b) {
-        float result = CProver.nondetFloat();
-        CProver.assume((result == a || result == b) && result <= a && result <= b);
-        return result;
+        // float result = CProver.nondetFloat();
+        // CProver.assume((result == a || result == b) && result <= a && result <= b);
+        // return result;
+        return Math.min(a, b);
     }
 
     /** use serialVersionUID from JDK 1.0.2 for interoperability */
@@ -198,11 +198,11 @@ public final class Integer extends Number implements Comparable<Integer> {
      * @see #parseUnsignedInt(String, int)
      * @see #toUnsignedString(int, int)
      * @since   JDK1.0.2
+     *
+     * @diffblue.fullSupport
      */
-    //TODO
     public static String toHexString(int i) {
-        CProver.notModelled();
-        return CProver.nondetWithoutNullForNotModelled();
+        return toUnsignedString0(i, 4);
     }
 
     /**
@@ -238,11 +238,11 @@ public final class Integer extends Number implements Comparable<Integer> {
      * @see #parseUnsignedInt(String, int)
      * @see #toUnsignedString(int, int)
      * @since   JDK1.0.2
+     *
+     * @diffblue.fullSupport
      */
-    //TODO
     public static String toOctalString(int i) {
-        CProver.notModelled();
-        return CProver.nondetWithoutNullForNotModelled();
+        return toUnsignedString0(i, 3);
     }
 
     /**
@@ -272,11 +272,30 @@ public final class Integer extends Number implements Comparable<Integer> {
      * @see #parseUnsignedInt(String, int)
      * @see #toUnsignedString(int, int)
      * @since   JDK1.0.2
+     *
+     * @diffblue.fullSupport
      */
-    //TODO
     public static String toBinaryString(int i) {
-        CProver.notModelled();
-        return CProver.nondetWithoutNullForNotModelled();
+        return toUnsignedString0(i, 1);
+    }
+
+    /**
+     * Convert the integer to an unsigned number.
+     */
+    private static String toUnsignedString0(int val, int shift) {
+        // DIFFBLUE MODEL LIBRARY
+        // The unsigned value is a non-negative long, so it is formatted by a
+        // single CProverString.toString call rather than digit by digit.
+        return CProverString.toString(toUnsignedLong(val), 1 << shift);
+        // // assert shift > 0 && shift <=5 : "Illegal shift value";
+        // int mag = Integer.SIZE - Integer.numberOfLeadingZeros(val);
+        // int chars = Math.max(((mag + (shift - 1)) / shift), 1);
+        // char[] buf = new char[chars];
+        //
+        // formatUnsignedInt(val, shift, buf, 0, chars);
+        //
+        // // Use special constructor which takes over "buf".
+        // return new String(buf, true);
     }
 
     /**
@@ -1364,9 +1383,10 @@ public final class Integer extends Number implements Comparable<Integer> {
      * @since 1.8
      */
     public static int max(int a, int b) {
-        int result = CProver.nondetInt();
-        CProver.assume((result == a || result == b) && result >= a && result >= b);
-        return result;
+        // int result = CProver.nondetInt();
+        // CProver.assume((result == a || result == b) && result >= a && result >= b);
+        // return result;
+        return Math.max(a, b);
     }
 
     /**
@@ -1380,9 +1400,10 @@ public final class Integer extends Number implements Comparable<Integer> {
      * @since 1.8
      */
     public static int min(int a, int b) {
-        int result = CProver.nondetInt();
-        CProver.assume((result == a || result == b) && result <= a && result <= b);
-        return result;
+        // int result = CProver.nondetInt();
+        // CProver.assume((result == a || result == b) && result <= a && result <= b);
+        // return result;
+        return Math.min(a, b);
     }
 
     /** use serialVersionUID from JDK 1.0.2 for interoperability */
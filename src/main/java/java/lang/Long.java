@@ -254,6 +254,8 @@ public final class Long extends Number implements Comparable<Long> {
      * @see #parseUnsignedLong(String, int)
      * @see #toUnsignedString(long, int)
      * @since   JDK 1.0.2
+     *
+     * @diffblue.fullSupport
      */
     public static String toHexString(long i) {
         return toUnsignedString0(i, 4);
@@ -293,6 +295,8 @@ public final class Long extends Number implements Comparable<Long> {
      * @see #parseUnsignedLong(String, int)
      * @see #toUnsignedString(long, int)
      * @since   JDK 1.0.2
+     *
+     * @diffblue.fullSupport
      */
     public static String toOctalString(long i) {
         return toUnsignedString0(i, 3);
@@ -326,6 +330,8 @@ public final class Long extends Number implements Comparable<Long> {
      * @see #parseUnsignedLong(String, int)
      * @see #toUnsignedString(long, int)
      * @since   JDK 1.0.2
+     *
+     * @diffblue.fullSupport
      */
     public static String toBinaryString(long i) {
         return toUnsignedString0(i, 1);
@@ -336,10 +342,23 @@ public final class Long extends Number implements Comparable<Long> {
      * @param val the value to format
      * @param shift the log2 of the base to format in (4 for hex, 3 for octal, 1 for binary)
      */
-    // DIFFBLUE MODEL LIBRARY: Handled internally by CBMC
     static String toUnsignedString0(long val, int shift) {
-        CProver.assume(0 <= val && val <= Integer.MAX_VALUE);
-        return Integer.toString((int)val, 1 << shift);
+        // DIFFBLUE MODEL LIBRARY
+        // CProverString.toString formats signed values, so a negative value
+        // is split into its non-negative leading digits and its last digit.
+        int radix = 1 << shift;
+        if (val >= 0) {
+            return CProverString.toString(val, radix);
+        }
+        return CProverString.toString(val >>> shift, radix)
+                + CProverString.toString((int) (val & (radix - 1)), radix);
+        // // assert shift > 0 && shift <=5 : "Illegal shift value";
+        // int mag = Long.SIZE - Long.numberOfLeadingZeros(val);
+        // int chars = Math.max(((mag + (shift - 1)) / shift), 1);
+        // char[] buf = new char[chars];
+        //
+        // formatUnsignedLong(val, shift, buf, 0, chars);
+        // return new String(buf, true);
     }
 
     /**
@@ -1478,9 +1497,10 @@ public final class Long extends Number implements Comparable<Long> {
      * @since 1.8
      */
     public static long max(long a, long b) {
-        long result = CProver.nondetLong();
-        CProver.assume((result == a || result == b) && result >= a && result >= b);
-        return result;
+        // long result = CProver.nondetLong();
+        // CProver.assume((result == a || result == b) && result >= a && result >= b);
+        // return result;
+        return Math.max(a, b);
     }
 
     /**
@@ -1494,9 +1514,10 @@ public final class Long extends Number implements Comparable<Long> {
      * @since 1.8
      */
     public static long min(long a, long b) {
-        long result = CProver.nondetLong();
-        CProver.assume((result == a || result == b) && result <= a && result <= b);
-        return result;
+        // long result = CProver.nondetLong();
+        // CProver.assume((result == a || result == b) && result <= a && result <= b);
+        // return result;
+        return Math.min(a, b);
     }
 
     /** use serialVersionUID from JDK 1.0.2 for interoperability */
@@ -124,6 +124,29 @@ public final class Math {
      */
     public static final double PI = 3.14159265358979323846;
 
+    // DIFFBLUE MODEL LIBRARY
+    // Most transcendental functions are modelled by a nondeterministic
+    // result constrained to an interval derived from the identities the
+    // function satisfies, rather than by the fdlibm algorithms, which would
+    // be far too costly for the solver. Special cases are modelled exactly.
+    private static double cproverNondetInRange(double lower, double upper) {
+        double result = CProver.nondetDouble();
+        CProver.assume(result >= lower && result <= upper);
+        return result;
+    }
+
+    /**
+     * Whether the finite value {@code b} is an odd integer, which decides
+     * the sign of {@link #pow} for negative bases.
+     */
+    private static boolean cproverIsOddInteger(double b) {
+        if (b >= 0x1p53 || b <= -0x1p53) {
+            return false;
+        }
+        long n = (long) b;
+        return (double) n == b && (n & 1L) != 0;
+    }
+
     /**
      * Returns the trigonometric sine of an angle.  Special cases:
      * <ul><li>If the argument is NaN or an infinity, then the
@@ -136,10 +159,30 @@ public final class Math {
      *
      * @param   a   an angle, in radians.
      * @return  the sine of the argument.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic value in [-1, 1] with the sign of
+     * the argument on [-PI, PI], rather than the exact sine.
      */
     public static double sin(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a == Double.POSITIVE_INFINITY
+                || a == Double.NEGATIVE_INFINITY) {
+            return Double.NaN;
+        }
+        if (a == 0.0) {
+            return a;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // The result is only constrained to an interval, see
+        // cproverNondetInRange. PI is slightly smaller than pi, so the sine
+        // is nonzero with the sign of the argument on [-PI, PI].
+        if (a > 0.0 && a <= PI) {
+            return cproverNondetInRange(Double.MIN_VALUE, 1.0);
+        }
+        if (a < 0.0 && a >= -PI) {
+            return cproverNondetInRange(-1.0, -Double.MIN_VALUE);
+        }
+        return cproverNondetInRange(-1.0, 1.0);
         // return StrictMath.sin(a); // default impl. delegates to StrictMath
     }
 
@@ -153,10 +196,25 @@ public final class Math {
      *
      * @param   a   an angle, in radians.
      * @return  the cosine of the argument.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic value in [-1, 1], nonnegative on
+     * [-PI/2, PI/2], rather than the exact cosine.
      */
     public static double cos(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a == Double.POSITIVE_INFINITY
+                || a == Double.NEGATIVE_INFINITY) {
+            return Double.NaN;
+        }
+        if (a == 0.0) {
+            return 1.0;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See sin(double).
+        if (a <= PI / 2 && a >= -(PI / 2)) {
+            return cproverNondetInRange(0.0, 1.0);
+        }
+        return cproverNondetInRange(-1.0, 1.0);
         // return StrictMath.cos(a); // default impl. delegates to StrictMath
     }
 
@@ -172,10 +230,29 @@ public final class Math {
      *
      * @param   a   an angle, in radians.
      * @return  the tangent of the argument.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic finite value, with the sign of the
+     * argument on (-PI/2, PI/2), rather than the exact tangent.
      */
     public static double tan(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a == Double.POSITIVE_INFINITY
+                || a == Double.NEGATIVE_INFINITY) {
+            return Double.NaN;
+        }
+        if (a == 0.0) {
+            return a;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See sin(double). No double is close enough to an odd multiple of
+        // pi/2 for the tangent to overflow.
+        if (a > 0.0 && a < PI / 2) {
+            return cproverNondetInRange(Double.MIN_VALUE, Double.MAX_VALUE);
+        }
+        if (a < 0.0 && a > -(PI / 2)) {
+            return cproverNondetInRange(-Double.MAX_VALUE, -Double.MIN_VALUE);
+        }
+        return cproverNondetInRange(-Double.MAX_VALUE, Double.MAX_VALUE);
         // return StrictMath.tan(a); // default impl. delegates to StrictMath
     }
 
@@ -192,10 +269,24 @@ public final class Math {
      *
      * @param   a   the value whose arc sine is to be returned.
      * @return  the arc sine of the argument.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic value in [-PI/2, PI/2] with the
+     * sign of the argument, rather than the exact arc sine.
      */
     public static double asin(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a > 1.0 || a < -1.0) {
+            return Double.NaN;
+        }
+        if (a == 0.0) {
+            return a;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See sin(double).
+        if (a > 0.0) {
+            return cproverNondetInRange(Double.MIN_VALUE, PI / 2);
+        }
+        return cproverNondetInRange(-(PI / 2), -Double.MIN_VALUE);
         // return StrictMath.asin(a); // default impl. delegates to StrictMath
     }
 
@@ -210,10 +301,28 @@ public final class Math {
      *
      * @param   a   the value whose arc cosine is to be returned.
      * @return  the arc cosine of the argument.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic value in [0, PI/2] for positive
+     * arguments and in [PI/2, PI] for negative ones, rather than the exact
+     * arc cosine.
      */
     public static double acos(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a > 1.0 || a < -1.0) {
+            return Double.NaN;
+        }
+        if (a == 1.0) {
+            return 0.0;
+        }
+        if (a == 0.0) {
+            return PI / 2;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See sin(double).
+        if (a > 0.0) {
+            return cproverNondetInRange(0.0, PI / 2);
+        }
+        return cproverNondetInRange(PI / 2, PI);
         // return StrictMath.acos(a); // default impl. delegates to StrictMath
     }
 
@@ -229,10 +338,24 @@ public final class Math {
      *
      * @param   a   the value whose arc tangent is to be returned.
      * @return  the arc tangent of the argument.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic value in [-PI/2, PI/2] with the
+     * sign of the argument, rather than the exact arc tangent.
      */
     public static double atan(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a) {
+            return a;
+        }
+        if (a == 0.0) {
+            return a;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See sin(double).
+        if (a > 0.0) {
+            return cproverNondetInRange(Double.MIN_VALUE, PI / 2);
+        }
+        return cproverNondetInRange(-(PI / 2), -Double.MIN_VALUE);
         // return StrictMath.atan(a); // default impl. delegates to StrictMath
     }
 
@@ -285,10 +408,33 @@ public final class Math {
      * @param   a   the exponent to raise <i>e</i> to.
      * @return  the value <i>e</i><sup>{@code a}</sup>,
      *          where <i>e</i> is the base of the natural logarithms.
+     *
+     * @diffblue.limitedSupport
+     * Overflow and underflow are exact, otherwise the result is a
+     * nondeterministic value on the same side of 1.0 as the result of the
+     * JDK.
      */
     public static double exp(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a == Double.POSITIVE_INFINITY) {
+            return a;
+        }
+        if (a == 0.0) {
+            return 1.0;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // The thresholds beyond which fdlibm overflows and underflows are
+        // modelled exactly; in between, the result is only constrained to
+        // the side of 1.0 given by the sign of the argument.
+        if (a > 7.09782712893383973096e+02) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (a < -7.45133219101941108420e+02) {
+            return 0.0;
+        }
+        if (a > 0.0) {
+            return cproverNondetInRange(1.0, Double.MAX_VALUE);
+        }
+        return cproverNondetInRange(0.0, 1.0);
         // return StrictMath.exp(a); // default impl. delegates to StrictMath
     }
 
@@ -308,10 +454,31 @@ public final class Math {
      * @param   a   a value
      * @return  the value ln&nbsp;{@code a}, the natural logarithm of
      *          {@code a}.
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic finite value with the sign of the
+     * exact logarithm, rather than the logarithm itself.
      */
     public static double log(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a < 0.0) {
+            return Double.NaN;
+        }
+        if (a == 0.0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (a == Double.POSITIVE_INFINITY) {
+            return a;
+        }
+        if (a == 1.0) {
+            return 0.0;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // The bounds are the logarithms of Double.MIN_VALUE and
+        // Double.MAX_VALUE, rounded away from zero.
+        if (a > 1.0) {
+            return cproverNondetInRange(Double.MIN_VALUE, 710.0);
+        }
+        return cproverNondetInRange(-745.0, -Double.MIN_VALUE);
         // return StrictMath.log(a); // default impl. delegates to StrictMath
     }
 
@@ -335,10 +502,31 @@ public final class Math {
      * @param   a   a value
      * @return  the base 10 logarithm of  {@code a}.
      * @since 1.5
+     *
+     * @diffblue.limitedSupport
+     * The result is a nondeterministic finite value with the sign of the
+     * exact logarithm. In particular, powers of ten other than 1 are not
+     * mapped to their exponent.
      */
     public static double log10(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (a != a || a < 0.0) {
+            return Double.NaN;
+        }
+        if (a == 0.0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (a == Double.POSITIVE_INFINITY) {
+            return a;
+        }
+        if (a == 1.0) {
+            return 0.0;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See log(double).
+        if (a > 1.0) {
+            return cproverNondetInRange(Double.MIN_VALUE, 309.0);
+        }
+        return cproverNondetInRange(-324.0, -Double.MIN_VALUE);
         // return StrictMath.log10(a); // default impl. delegates to StrictMath
     }
 
@@ -360,14 +548,9 @@ public final class Math {
      *          If the argument is NaN or less than zero, the result is NaN.
      *
      * @diffblue.limitedSupport
-     * This implementation using solver constraints only works if squaring the
-     * result of sqrt is equal to the original number, which is not always
-     * true. As a result, the solver will return UNSAT in many cases.
-     * For instance, {@code Math.sqrt(2.0)} will cause the solver to be UNSAT.
-     *
-     * Also, there are precision issues on very small numbers. For instance,
-     * for values between 0 and {@code 0x0.0000000000001p-900}, the sqrt method
-     * is likely to not be equal to the result of the real Math.sqrt method.
+     * The result is a nondeterministic value whose square is within a few
+     * ulps of the argument, so it may differ from the correctly rounded
+     * square root by one ulp, even for perfect squares.
      */
     public static double sqrt(double a) {
         // return StrictMath.sqrt(a); // default impl. delegates to StrictMath
@@ -381,22 +564,21 @@ public final class Math {
         if (a == Double.POSITIVE_INFINITY || a == 0.0) {
             return a;
         }
+        // DIFFBLUE MODEL LIBRARY
+        // Requiring sqrt * sqrt == a is unsatisfiable for most inputs, so
+        // the square is only bounded relative to a. The bound accounts for
+        // rounding of the product and admits the correctly rounded result
+        // and its immediate neighbours. Tiny inputs are first scaled by an
+        // even power of two, which is exact, so that the square does not
+        // lose precision to underflow.
+        if (a < 0x1p-900) {
+            return sqrt(a * 0x1p1000) * 0x1p-500;
+        }
         double sqrt = CProver.nondetDouble();
-        CProver.assume(sqrt >= 0);
-        CProver.assume(sqrt * sqrt == a);
-
-        // To solve the satisfiability issue, we should adapt the constraints
-        // to something like:
-        //
-        // double reMultiplied = sqrt * sqrt;
-        // CProver.assume(reMultiplied > lower);
-        // CProver.assume(reMultiplied <= upper);
-        //
-        // Where lower and upper only differ by one bit in their
-        // representation, which should ensure that they are the double values
-        // that are the closest to reMultiplied.
-        // This implementation cannot be done yet because it would require
-        // Double.doubleToRawLongBits() to be supported.
+        CProver.assume(sqrt > 0.0);
+        double square = sqrt * sqrt;
+        CProver.assume(square >= a * (1.0 - 0x1p-50));
+        CProver.assume(square <= a * (1.0 + 0x1p-50));
         return sqrt;
     }
 
@@ -479,10 +661,23 @@ public final class Math {
      * @return  the smallest (closest to negative infinity)
      *          floating-point value that is greater than or equal to
      *          the argument and is equal to a mathematical integer.
+     *
+     * @diffblue.fullSupport
      */
     public static double ceil(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        // DIFFBLUE MODEL LIBRARY
+        // See floor(double).
+        if (a != a || a == 0.0 || a >= 0x1p52 || a <= -0x1p52) {
+            return a;
+        }
+        double t = (double) (long) a;
+        if (a > t) {
+            t += 1.0;
+        }
+        if (t == 0.0 && a < 0.0) {
+            return -0.0;
+        }
+        return t;
         // return StrictMath.ceil(a); // default impl. delegates to StrictMath
     }
 
@@ -500,10 +695,25 @@ public final class Math {
      * @return  the largest (closest to positive infinity)
      *          floating-point value that less than or equal to the argument
      *          and is equal to a mathematical integer.
+     *
+     * @diffblue.fullSupport
      */
     public static double floor(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        // DIFFBLUE MODEL LIBRARY
+        // There is no rounding-mode primitive and the raw bits of a double
+        // are not modelled, so we round with a single truncating conversion
+        // to long instead. Any finite value of magnitude at least 2^52 is
+        // already a mathematical integer, and below that bound the
+        // conversion and its inverse are exact. Zeros are returned as they
+        // are to preserve their sign.
+        if (a != a || a == 0.0 || a >= 0x1p52 || a <= -0x1p52) {
+            return a;
+        }
+        double t = (double) (long) a;
+        if (a < t) {
+            t -= 1.0;
+        }
+        return t;
         // return StrictMath.floor(a); // default impl. delegates to StrictMath
     }
 
@@ -521,10 +731,27 @@ public final class Math {
      * @param   a   a {@code double} value.
      * @return  the closest floating-point value to {@code a} that is
      *          equal to a mathematical integer.
+     *
+     * @diffblue.fullSupport
      */
     public static double rint(double a) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        // DIFFBLUE MODEL LIBRARY
+        // See floor(double). The difference between a and its truncation
+        // is computed exactly, so ties can be detected and broken to even.
+        if (a != a || a == 0.0 || a >= 0x1p52 || a <= -0x1p52) {
+            return a;
+        }
+        long t = (long) a;
+        double diff = a - (double) t;
+        if (diff > 0.5 || (diff == 0.5 && (t & 1L) != 0)) {
+            t++;
+        } else if (diff < -0.5 || (diff == -0.5 && (t & 1L) != 0)) {
+            t--;
+        }
+        if (t == 0L && a < 0.0) {
+            return -0.0;
+        }
+        return (double) t;
         // return StrictMath.rint(a); // default impl. delegates to StrictMath
     }
 
@@ -579,10 +806,28 @@ public final class Math {
      *          (<i>r</i>,&nbsp;<i>theta</i>)
      *          in polar coordinates that corresponds to the point
      *          (<i>x</i>,&nbsp;<i>y</i>) in Cartesian coordinates.
+     *
+     * @diffblue.limitedSupport
+     * Zero ordinates are handled exactly, otherwise the result is a
+     * nondeterministic value in [-PI, PI] with the sign of {@code y}.
      */
     public static double atan2(double y, double x) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (x != x || y != y) {
+            return Double.NaN;
+        }
+        if (y == 0.0) {
+            if (x > 0.0 || (x == 0.0 && 1.0 / x > 0.0)) {
+                return y;
+            }
+            return 1.0 / y > 0.0 ? PI : -PI;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // See sin(double). The result may underflow to zero when y is tiny
+        // compared to x.
+        if (y > 0.0) {
+            return cproverNondetInRange(0.0, PI);
+        }
+        return cproverNondetInRange(-PI, 0.0);
         // return StrictMath.atan2(y, x); // default impl. delegates to StrictMath
     }
 
@@ -708,10 +953,63 @@ public final class Math {
      * @param   a   the base.
      * @param   b   the exponent.
      * @return  the value {@code a}<sup>{@code b}</sup>.
+     *
+     * @diffblue.limitedSupport
+     * All special cases are exact, as are the exponents 1, -1, 2 and 0.5.
+     * For other finite arguments the result is a nondeterministic value on
+     * the same side of 1.0 as the exact power, so integral powers are not
+     * guaranteed to be exact.
      */
     public static double pow(double a, double b) {
-        CProver.notModelled();
-        return CProver.nondetDouble();
+        if (b == 0.0) {
+            return 1.0;
+        }
+        if (a != a || b != b) {
+            return Double.NaN;
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // The exponents below are computed exactly by fdlibm too.
+        if (b == 1.0) {
+            return a;
+        }
+        if (b == -1.0) {
+            return 1.0 / a;
+        }
+        if (b == 2.0) {
+            return a * a;
+        }
+        if (b == Double.POSITIVE_INFINITY || b == Double.NEGATIVE_INFINITY) {
+            double absA = abs(a);
+            if (absA == 1.0) {
+                return Double.NaN;
+            }
+            return (absA > 1.0) == (b > 0.0) ? Double.POSITIVE_INFINITY : 0.0;
+        }
+        if (a == 0.0 || a == Double.POSITIVE_INFINITY
+                || a == Double.NEGATIVE_INFINITY) {
+            double r = (a == 0.0) == (b < 0.0) ? Double.POSITIVE_INFINITY : 0.0;
+            boolean negative = a < 0.0 || 1.0 / a < 0.0;
+            return negative && cproverIsOddInteger(b) ? -r : r;
+        }
+        if (a == 1.0) {
+            return 1.0;
+        }
+        if (a < 0.0) {
+            if (b != floor(b)) {
+                return Double.NaN;
+            }
+            double r = pow(-a, b);
+            return cproverIsOddInteger(b) ? -r : r;
+        }
+        if (b == 0.5) {
+            return sqrt(a);
+        }
+        // DIFFBLUE MODEL LIBRARY
+        // Only which side of 1.0 the result lies on is known here.
+        if ((a > 1.0) == (b > 0.0)) {
+            return cproverNondetInRange(1.0, Double.POSITIVE_INFINITY);
+        }
+        return cproverNondetInRange(0.0, 1.0);
         // return StrictMath.pow(a, b); // default impl. delegates to StrictMath
     }
 
@@ -735,14 +1033,19 @@ public final class Math {
      * @see     java.lang.Integer#MAX_VALUE
      * @see     java.lang.Integer#MIN_VALUE
      *
-     * @diffblue.limitedSupport
-     * @diffblue.untested
+     * @diffblue.fullSupport
      */
     public static int round(float a) {
-        if(a < 0)
-            return (int)(a - 0.5);
-        else
-            return (int)(a + 0.5);
+        // DIFFBLUE MODEL LIBRARY
+        // See round(double).
+        if (a >= 0x1p23f || a <= -0x1p23f || a != a) {
+            return (int) a;
+        }
+        int t = (int) a;
+        if (a >= 0.0f) {
+            return a - (float) t >= 0.5f ? t + 1 : t;
+        }
+        return (float) t - a > 0.5f ? t - 1 : t;
         // int intBits = Float.floatToRawIntBits(a);
         // int biasedExp = (intBits & FloatConsts.EXP_BIT_MASK)
         //         >> (FloatConsts.SIGNIFICAND_WIDTH - 1);
@@ -791,14 +1094,23 @@ public final class Math {
      * @see     java.lang.Long#MAX_VALUE
      * @see     java.lang.Long#MIN_VALUE
      *
-     * @diffblue.limitedSupport
-     * @diffblue.untested
+     * @diffblue.fullSupport
      */
     public static long round(double a) {
-        if(a < 0)
-            return (long)(a - 0.5);
-        else
-            return (long)(a + 0.5);
+        // DIFFBLUE MODEL LIBRARY
+        // Adding 0.5 before truncating rounds incorrectly for inputs such as
+        // 0.49999999999999994, so we compare the exact distance between a
+        // and its truncation with 0.5 instead. Values of magnitude at least
+        // 2^52 are integers, and the conversion handles NaN, infinities and
+        // out-of-range values as the JDK specifies.
+        if (a >= 0x1p52 || a <= -0x1p52 || a != a) {
+            return (long) a;
+        }
+        long t = (long) a;
+        if (a >= 0.0) {
+            return a - (double) t >= 0.5 ? t + 1 : t;
+        }
+        return (double) t - a > 0.5 ? t - 1 : t;
         // long longBits = Double.doubleToRawLongBits(a);
         // long biasedExp = (longBits & DoubleConsts.EXP_BIT_MASK)
         //         >> (DoubleConsts.SIGNIFICAND_WIDTH - 1);
@@ -871,16 +1183,17 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int addExact(int x, int y) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // int r = x + y;
-        // // HD 2-12 Overflow iff both arguments have the opposite sign of the result
-        // if (((x ^ r) & (y ^ r)) < 0) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        // return r;
+        int r = x + y;
+        // HD 2-12 Overflow iff both arguments have the opposite sign of the result
+        if (((x ^ r) & (y ^ r)) < 0) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+        return r;
     }
 
     /**
@@ -892,16 +1205,17 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows a long
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long addExact(long x, long y) {
-        CProver.notModelled();
-        return CProver.nondetLong();
-        // long r = x + y;
-        // // HD 2-12 Overflow iff both arguments have the opposite sign of the result
-        // if (((x ^ r) & (y ^ r)) < 0) {
-        //     throw new ArithmeticException("long overflow");
-        // }
-        // return r;
+        long r = x + y;
+        // HD 2-12 Overflow iff both arguments have the opposite sign of the result
+        if (((x ^ r) & (y ^ r)) < 0) {
+            // throw new ArithmeticException("long overflow");
+            throw new ArithmeticException();
+        }
+        return r;
     }
 
     /**
@@ -913,17 +1227,18 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int subtractExact(int x, int y) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // int r = x - y;
-        // // HD 2-12 Overflow iff the arguments have different signs and
-        // // the sign of the result is different than the sign of x
-        // if (((x ^ y) & (x ^ r)) < 0) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        // return r;
+        int r = x - y;
+        // HD 2-12 Overflow iff the arguments have different signs and
+        // the sign of the result is different than the sign of x
+        if (((x ^ y) & (x ^ r)) < 0) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+        return r;
     }
 
     /**
@@ -935,17 +1250,18 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows a long
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long subtractExact(long x, long y) {
-        CProver.notModelled();
-        return CProver.nondetLong();
-        // long r = x - y;
-        // // HD 2-12 Overflow iff the arguments have different signs and
-        // // the sign of the result is different than the sign of x
-        // if (((x ^ y) & (x ^ r)) < 0) {
-        //     throw new ArithmeticException("long overflow");
-        // }
-        // return r;
+        long r = x - y;
+        // HD 2-12 Overflow iff the arguments have different signs and
+        // the sign of the result is different than the sign of x
+        if (((x ^ y) & (x ^ r)) < 0) {
+            // throw new ArithmeticException("long overflow");
+            throw new ArithmeticException();
+        }
+        return r;
     }
 
     /**
@@ -957,15 +1273,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int multiplyExact(int x, int y) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // long r = (long)x * (long)y;
-        // if ((int)r != r) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        // return (int)r;
+        long r = (long)x * (long)y;
+        if ((int)r != r) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+        return (int)r;
     }
 
     /**
@@ -977,10 +1294,10 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows a long
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long multiplyExact(long x, long y) {
-        CProver.notModelled();
-        return CProver.nondetLong();
         // long r = x * y;
         // long ax = Math.abs(x);
         // long ay = Math.abs(y);
@@ -994,6 +1311,26 @@ public final class Math {
         //     }
         // }
         // return r;
+        // DIFFBLUE MODEL LIBRARY
+        // The jdk checks the product with a division, which is expensive for
+        // the solver. Instead we compute the high 64 bits of the 128-bit
+        // product from the 32-bit halves of the arguments: the product fits
+        // in a long if and only if these bits are the sign extension of the
+        // low 64 bits. The partial products are of 32-bit values, so most of
+        // their bits are constant.
+        long r = x * y;
+        long xHigh = x >> 32;
+        long xLow = x & 0xFFFFFFFFL;
+        long yHigh = y >> 32;
+        long yLow = y & 0xFFFFFFFFL;
+        long lowProduct = xLow * yLow;
+        long t = xHigh * yLow + (lowProduct >>> 32);
+        long middle = (t & 0xFFFFFFFFL) + xLow * yHigh;
+        long high = xHigh * yHigh + (t >> 32) + (middle >> 32);
+        if (high != (r >> 63)) {
+            throw new ArithmeticException();
+        }
+        return r;
     }
 
     /**
@@ -1004,15 +1341,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int incrementExact(int a) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // if (a == Integer.MAX_VALUE) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        //
-        // return a + 1;
+        if (a == Integer.MAX_VALUE) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+
+        return a + 1;
     }
 
     /**
@@ -1023,15 +1361,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows a long
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long incrementExact(long a) {
-        CProver.notModelled();
-        return CProver.nondetLong();
-        // if (a == Long.MAX_VALUE) {
-        //     throw new ArithmeticException("long overflow");
-        // }
-        //
-        // return a + 1L;
+        if (a == Long.MAX_VALUE) {
+            // throw new ArithmeticException("long overflow");
+            throw new ArithmeticException();
+        }
+
+        return a + 1L;
     }
 
     /**
@@ -1042,15 +1381,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int decrementExact(int a) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // if (a == Integer.MIN_VALUE) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        //
-        // return a - 1;
+        if (a == Integer.MIN_VALUE) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+
+        return a - 1;
     }
 
     /**
@@ -1061,15 +1401,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows a long
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long decrementExact(long a) {
-        CProver.notModelled();
-        return CProver.nondetLong();
-        // if (a == Long.MIN_VALUE) {
-        //     throw new ArithmeticException("long overflow");
-        // }
-        //
-        // return a - 1L;
+        if (a == Long.MIN_VALUE) {
+            // throw new ArithmeticException("long overflow");
+            throw new ArithmeticException();
+        }
+
+        return a - 1L;
     }
 
     /**
@@ -1080,15 +1421,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int negateExact(int a) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // if (a == Integer.MIN_VALUE) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        //
-        // return -a;
+        if (a == Integer.MIN_VALUE) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+
+        return -a;
     }
 
     /**
@@ -1099,15 +1441,16 @@ public final class Math {
      * @return the result
      * @throws ArithmeticException if the result overflows a long
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long negateExact(long a) {
-        CProver.notModelled();
-        return CProver.nondetLong();
-        // if (a == Long.MIN_VALUE) {
-        //     throw new ArithmeticException("long overflow");
-        // }
-        //
-        // return -a;
+        if (a == Long.MIN_VALUE) {
+            // throw new ArithmeticException("long overflow");
+            throw new ArithmeticException();
+        }
+
+        return -a;
     }
 
     /**
@@ -1118,14 +1461,15 @@ public final class Math {
      * @return the argument as an int
      * @throws ArithmeticException if the {@code argument} overflows an int
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int toIntExact(long value) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // if ((int)value != value) {
-        //     throw new ArithmeticException("integer overflow");
-        // }
-        // return (int)value;
+        if ((int)value != value) {
+            // throw new ArithmeticException("integer overflow");
+            throw new ArithmeticException();
+        }
+        return (int)value;
     }
 
     /**
@@ -1162,16 +1506,16 @@ public final class Math {
      * @see #floorMod(int, int)
      * @see #floor(double)
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int floorDiv(int x, int y) {
-        CProver.notModelled();
-        return CProver.nondetInt();
-        // int r = x / y;
-        // // if the signs are different and modulo not zero, round down
-        // if ((x ^ y) < 0 && (r * y != x)) {
-        //     r--;
-        // }
-        // return r;
+        int r = x / y;
+        // if the signs are different and modulo not zero, round down
+        if ((x ^ y) < 0 && (r * y != x)) {
+            r--;
+        }
+        return r;
     }
 
     /**
@@ -1198,16 +1542,16 @@ public final class Math {
      * @see #floorMod(long, long)
      * @see #floor(double)
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long floorDiv(long x, long y) {
-        CProver.notModelled();
-        return CProver.nondetLong();
-        // long r = x / y;
-        // // if the signs are different and modulo not zero, round down
-        // if ((x ^ y) < 0 && (r * y != x)) {
-        //     r--;
-        // }
-        // return r;
+        long r = x / y;
+        // if the signs are different and modulo not zero, round down
+        if ((x ^ y) < 0 && (r * y != x)) {
+            r--;
+        }
+        return r;
     }
 
     /**
@@ -1253,12 +1597,21 @@ public final class Math {
      * @throws ArithmeticException if the divisor {@code y} is zero
      * @see #floorDiv(int, int)
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static int floorMod(int x, int y) {
-        CProver.notModelled();
-        return CProver.nondetInt();
         // int r = x - floorDiv(x, y) * y;
         // return r;
+        // DIFFBLUE MODEL LIBRARY
+        // Computed from the remainder, which gives the same result with a
+        // single division and no multiplication.
+        int r = x % y;
+        // if the signs are different and modulo not zero, adjust result
+        if ((r ^ y) < 0 && r != 0) {
+            r += y;
+        }
+        return r;
     }
 
     /**
@@ -1282,11 +1635,19 @@ public final class Math {
      * @throws ArithmeticException if the divisor {@code y} is zero
      * @see #floorDiv(long, long)
      * @since 1.8
+     *
+     * @diffblue.fullSupport
      */
     public static long floorMod(long x, long y) {
-        CProver.notModelled();
-        return CProver.nondetLong();
         // return x - floorDiv(x, y) * y;
+        // DIFFBLUE MODEL LIBRARY
+        // See floorMod(int, int).
+        long r = x % y;
+        // if the signs are different and modulo not zero, adjust result
+        if ((r ^ y) < 0 && r != 0) {
+            r += y;
+        }
+        return r;
     }
 
     /**
@@ -1382,10 +1743,15 @@ public final class Math {
      * @return  the larger of {@code a} and {@code b}.
      */
     public static int max(int a, int b) {
-        // return (a >= b) ? a : b;
-        int result = CProver.nondetInt();
-        CProver.assume((result == a || result == b) && result >= a && result >= b);
-        return result;
+        // int result = CProver.nondetInt();
+        // CProver.assume((result == a || result == b) && result >= a && result >= b);
+        // return result;
+        // DIFFBLUE MODEL LIBRARY
+        // The conditional expression of the jdk is a single if-then-else in
+        // the formula. It is cheaper than a nondet result constrained by an
+        // assume, which needs a fresh symbol, four comparisons and a
+        // disjunction.
+        return (a >= b) ? a : b;
     }
 
     /**
@@ -1399,10 +1765,12 @@ public final class Math {
      * @return  the larger of {@code a} and {@code b}.
      */
     public static long max(long a, long b) {
-        // return (a >= b) ? a : b;
-        long result = CProver.nondetLong();
-        CProver.assume((result == a || result == b) && result >= a && result >= b);
-        return result;
+        // long result = CProver.nondetLong();
+        // CProver.assume((result == a || result == b) && result >= a && result >= b);
+        // return result;
+        // DIFFBLUE MODEL LIBRARY
+        // See max(int, int).
+        return (a >= b) ? a : b;
     }
 
     // Use raw bit-wise conversions on guaranteed non-NaN arguments.
@@ -1433,13 +1801,23 @@ public final class Math {
         //     return b;
         // }
         // return (a >= b) ? a : b;
-        if (Float.isNaN(a) || Float.isNaN(b)) {
-            return Float.NaN;
-        } else {
-            float result = CProver.nondetFloat();
-            CProver.assume((result == a || result == b) && result >= a && result >= b);
-            return result;
-        }
+        // if (Float.isNaN(a) || Float.isNaN(b)) {
+        //     return Float.NaN;
+        // } else {
+        //     float result = CProver.nondetFloat();
+        //     CProver.assume((result == a || result == b) && result >= a && result >= b);
+        //     return result;
+        // }
+        if (a != a)
+            return a;   // a is NaN
+        // DIFFBLUE MODEL LIBRARY
+        // Float.floatToRawIntBits is not modelled, so the case where both
+        // arguments are zero is handled with an addition: the sum of two
+        // zeros is negative zero only if both are negative zero, which is
+        // the result expected from max.
+        if (a == 0.0f && b == 0.0f)
+            return a + b;
+        return (a >= b) ? a : b;
     }
 
     /**
@@ -1466,13 +1844,23 @@ public final class Math {
         //     return b;
         // }
         // return (a >= b) ? a : b;
-        if (Double.isNaN(a) || Double.isNaN(b)) {
-            return Double.NaN;
-        } else {
-            double result = CProver.nondetDouble();
-            CProver.assume((result == a || result == b) && result >= a && result >= b);
-            return result;
-        }
+        // if (Double.isNaN(a) || Double.isNaN(b)) {
+        //     return Double.NaN;
+        // } else {
+        //     double result = CProver.nondetDouble();
+        //     CProver.assume((result == a || result == b) && result >= a && result >= b);
+        //     return result;
+        // }
+        if (a != a)
+            return a;   // a is NaN
+        // DIFFBLUE MODEL LIBRARY
+        // Double.doubleToRawLongBits is not modelled, so the case where both
+        // arguments are zero is handled with an addition: the sum of two
+        // zeros is negative zero only if both are negative zero, which is
+        // the result expected from max.
+        if (a == 0.0d && b == 0.0d)
+            return a + b;
+        return (a >= b) ? a : b;
     }
 
     /**
@@ -1486,10 +1874,12 @@ public final class Math {
      * @return  the smaller of {@code a} and {@code b}.
      */
     public static int min(int a, int b) {
-        // return (a <= b) ? a : b;
-        int result = CProver.nondetInt();
-        CProver.assume((result == a || result == b) && result <= a && result <= b);
-        return result;
+        // int result = CProver.nondetInt();
+        // CProver.assume((result == a || result == b) && result <= a && result <= b);
+        // return result;
+        // DIFFBLUE MODEL LIBRARY
+        // See max(int, int).
+        return (a <= b) ? a : b;
     }
 
     /**
@@ -1503,10 +1893,12 @@ public final class Math {
      * @return  the smaller of {@code a} and {@code b}.
      */
     public static long min(long a, long b) {
-        // return (a <= b) ? a : b;
-        long result = CProver.nondetLong();
-        CProver.assume((result == a || result == b) && result <= a && result <= b);
-        return result;
+        // long result = CProver.nondetLong();
+        // CProver.assume((result == a || result == b) && result <= a && result <= b);
+        // return result;
+        // DIFFBLUE MODEL LIBRARY
+        // See max(int, int).
+        return (a <= b) ? a : b;
     }
 
     /**
@@ -1533,13 +1925,23 @@ public final class Math {
         //     return b;
         // }
         // return (a <= b) ? a : b;
-        if (Float.isNaN(a) || Float.isNaN(b)) {
-            return Float.NaN;
-        } else {
-            float result = CProver.nondetFloat();
-            CProver.assume((result == a || result == b) && result <= a && result <= b);
-            return result;
-        }
+        // if (Float.isNaN(a) || Float.isNaN(b)) {
+        //     return Float.NaN;
+        // } else {
+        //     float result = CProver.nondetFloat();
+        //     CProver.assume((result == a || result == b) && result <= a && result <= b);
+        //     return result;
+        // }
+        if (a != a)
+            return a;   // a is NaN
+        // DIFFBLUE MODEL LIBRARY
+        // Float.floatToRawIntBits is not modelled, so the case where both
+        // arguments are zero is handled with an addition: the result is
+        // negative zero if either argument is negative zero, which is the
+        // case where the sum of their negations is positive zero.
+        if (a == 0.0f && b == 0.0f)
+            return -((-a) + (-b));
+        return (a <= b) ? a : b;
     }
 
     /**
@@ -1566,13 +1968,23 @@ public final class Math {
         //     return b;
         // }
         // return (a <= b) ? a : b;
-        if (Double.isNaN(a) || Double.isNaN(b)) {
-            return Double.NaN;
-        } else {
-            double result = CProver.nondetDouble();
-            CProver.assume((result == a || result == b) && result <= a && result <= b);
-            return result;
-        }
+        // if (Double.isNaN(a) || Double.isNaN(b)) {
+        //     return Double.NaN;
+        // } else {
+        //     double result = CProver.nondetDouble();
+        //     CProver.assume((result == a || result == b) && result <= a && result <= b);
+        //     return result;
+        // }
+        if (a != a)
+            return a;   // a is NaN
+        // DIFFBLUE MODEL LIBRARY
+        // Double.doubleToRawLongBits is not modelled, so the case where both
+        // arguments are zero is handled with an addition: the result is
+        // negative zero if either argument is negative zero, which is the
+        // case where the sum of their negations is positive zero.
+        if (a == 0.0d && b == 0.0d)
+            return -((-a) + (-b));
+        return (a <= b) ? a : b;
     }
 
     /**
@@ -45,11 +45,12 @@ public class Object {
      * This relies on Class.forName whose model is only partial. The model of
      * Class is made to work for combinations of calls to Object.getClass,
      * Class.forName and Class.getName but other operations are unlikely to
-     * work.
+     * work. Only classes whose class literal has been initialized are
+     * supported.
      */
     public final Class<?> getClass() {
       // DIFFBLUE MODEL LIBRARY
-      return Class.forName(CProver.classIdentifier(this));
+      return Class.cproverForName(CProver.classIdentifier(this));
     }
 
     public int hashCode() {
@@ -3420,12 +3420,18 @@ public final class String
         CProver.assume(delimiter != null);
         CProver.assume(elements != null);
 
+        // DIFFBLUE MODEL LIBRARY
+        // The delimiter is converted to a String once, rather than through
+        // a virtual toString() call for every element, and null elements are
+        // appended as "null" like StringJoiner does.
+        if (elements.length == 0)
+            return "";
+        String delimiterString = delimiter.toString();
         StringBuilder builder = new StringBuilder();
-        if (elements.length > 0)
-            builder.append(elements[0]);
+        builder.append(String.valueOf(elements[0]));
         for (int i = 1; i < elements.length; i++) {
-            builder.append(delimiter);
-            builder.append(elements[i]);
+            builder.append(delimiterString);
+            builder.append(String.valueOf(elements[i]));
         }
         return builder.toString();
         // Objects.requireNonNull(delimiter);
@@ -3488,11 +3494,14 @@ public final class String
         if (!iterator.hasNext())
             return "";
 
+        // DIFFBLUE MODEL LIBRARY
+        // See join(CharSequence, CharSequence...).
+        String delimiterString = delimiter.toString();
         StringBuilder builder = new StringBuilder();
-        builder.append(iterator.next().toString());
+        builder.append(String.valueOf(iterator.next()));
         while (iterator.hasNext()) {
-            builder.append(delimiter.toString());
-            builder.append(iterator.next().toString());
+            builder.append(delimiterString);
+            builder.append(String.valueOf(iterator.next()));
         }
         return builder.toString();
         // Objects.requireNonNull(delimiter);
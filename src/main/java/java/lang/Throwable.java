@@ -131,6 +131,13 @@ public class Throwable implements Serializable {
      */
     private String detailMessage;
 
+    // DIFFBLUE MODEL LIBRARY
+    // Set when the detail message is to be derived from the cause, which is
+    // done on the first call to getMessage() rather than at construction.
+    // Wrapped exceptions are rarely asked for their message, so most of them
+    // never pay for the string concatenation of cause.toString().
+    private boolean cproverMessageFromCause;
+
 
     /**
      * Holder class to defer initializing sentinel objects only used
@@ -324,7 +331,9 @@ public class Throwable implements Serializable {
      */
     public Throwable(Throwable cause) {
         // fillInStackTrace();
-        detailMessage = (cause==null ? null : cause.toString());
+        // DIFFBLUE MODEL LIBRARY
+        // detailMessage = (cause==null ? null : cause.toString());
+        cproverMessageFromCause = cause != null;
         this.cause = cause;
     }
 
@@ -393,6 +402,10 @@ public class Throwable implements Serializable {
      *          (which may be {@code null}).
      */
     public String getMessage() {
+        if (cproverMessageFromCause) {
+            cproverMessageFromCause = false;
+            detailMessage = cause.toString();
+        }
         return detailMessage;
     }
 
@@ -1141,4 +1154,15 @@ public class Throwable implements Serializable {
         CProver.notModelled();
         return CProver.nondetWithoutNullForNotModelled();
     }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This method is called by CBMC just after nondeterministic object creation,
+    // i.e., the constraints that it specifies are enforced only on objects that
+    // are passed as an argument to a method, and only at the time when they are
+    // first created.
+    // A nondeterministic throwable has its detail message already set.
+    @org.cprover.MustNotThrow
+    protected void cproverNondetInitialize() {
+        CProver.assume(!cproverMessageFromCause);
+    }
 }
@@ -624,6 +624,26 @@ public final class Method extends Executable {
         //     ma = acquireMethodAccessor();
         // }
         // return ma.invoke(obj, args);
+        // DIFFBLUE MODEL LIBRARY
+        // The call itself cannot be dispatched, but the argument checks fail
+        // as in the JDK whether or not the method is static. They are only
+        // made when the access check above is skipped, since the modifiers it
+        // needs are not modelled, and when a receiver is given, since with a
+        // null receiver an instance method would throw a NullPointerException
+        // first.
+        if (override && obj != null && parameterTypes != null) {
+            int argCount = args == null ? 0 : args.length;
+            if (argCount != parameterTypes.length) {
+                // throw new IllegalArgumentException("wrong number of arguments");
+                throw new IllegalArgumentException();
+            }
+            for (int i = 0; i < argCount; i++) {
+                Class<?> type = parameterTypes[i];
+                if (args[i] == null && type != null && type.isPrimitive()) {
+                    throw new IllegalArgumentException();
+                }
+            }
+        }
         CProver.notModelled();
         return CProver.nondetWithoutNullForNotModelled();
     }
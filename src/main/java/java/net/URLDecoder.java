@@ -27,6 +27,8 @@ package java.net;
 
 import java.io.*;
 
+import org.cprover.CProver;
+
 /**
  * Utility class for HTML form decoding. This class contains static methods
  * for decoding a String from the <CODE>application/x-www-form-urlencoded</CODE>
@@ -132,76 +134,199 @@ public class URLDecoder {
     public static String decode(String s, String enc)
         throws UnsupportedEncodingException{
 
-        boolean needToChange = false;
-        int numChars = s.length();
-        StringBuffer sb = new StringBuffer(numChars > 500 ? numChars / 2 : numChars);
-        int i = 0;
-
+        // DIFFBLUE MODEL LIBRARY
+        // The string is decoded directly one character at a time, without
+        // the synchronized StringBuffer, the substring and parseInt calls and
+        // the charset decoding of the original code below. Escapes are only
+        // modelled in UTF-8.
         if (enc.length() == 0) {
             throw new UnsupportedEncodingException ("URLDecoder: empty string enc parameter");
         }
+        return cproverDecode(s, URLEncoder.cproverIsUtf8(enc));
+
+        // boolean needToChange = false;
+        // int numChars = s.length();
+        // StringBuffer sb = new StringBuffer(numChars > 500 ? numChars / 2 : numChars);
+        // int i = 0;
+
+        // if (enc.length() == 0) {
+        //     throw new UnsupportedEncodingException ("URLDecoder: empty string enc parameter");
+        // }
+
+        // char c;
+        // byte[] bytes = null;
+        // while (i < numChars) {
+        //     c = s.charAt(i);
+        //     switch (c) {
+        //     case '+':
+        //         sb.append(' ');
+        //         i++;
+        //         needToChange = true;
+        //         break;
+        //     case '%':
+        //         /*
+        //          * Starting with this instance of %, process all
+        //          * consecutive substrings of the form %xy. Each
+        //          * substring %xy will yield a byte. Convert all
+        //          * consecutive  bytes obtained this way to whatever
+        //          * character(s) they represent in the provided
+        //          * encoding.
+        //          */
+
+        //         try {
+
+        //             // (numChars-i)/3 is an upper bound for the number
+        //             // of remaining bytes
+        //             if (bytes == null)
+        //                 bytes = new byte[(numChars-i)/3];
+        //             int pos = 0;
 
-        char c;
-        byte[] bytes = null;
+        //             while ( ((i+2) < numChars) &&
+        //                     (c=='%')) {
+        //                 int v = Integer.parseInt(s.substring(i+1,i+3),16);
+        //                 if (v < 0)
+        //                     throw new IllegalArgumentException("URLDecoder: Illegal hex characters in escape (%) pattern - negative value");
+        //                 bytes[pos++] = (byte) v;
+        //                 i+= 3;
+        //                 if (i < numChars)
+        //                     c = s.charAt(i);
+        //             }
+
+        //             // A trailing, incomplete byte encoding such as
+        //             // "%x" will cause an exception to be thrown
+
+        //             if ((i < numChars) && (c=='%'))
+        //                 throw new IllegalArgumentException(
+        //                  "URLDecoder: Incomplete trailing escape (%) pattern");
+
+        //             sb.append(new String(bytes, 0, pos, enc));
+        //         } catch (NumberFormatException e) {
+        //             throw new IllegalArgumentException(
+        //             "URLDecoder: Illegal hex characters in escape (%) pattern - "
+        //             + e.getMessage());
+        //         }
+        //         needToChange = true;
+        //         break;
+        //     default:
+        //         sb.append(c);
+        //         i++;
+        //         break;
+        //     }
+        // }
+
+        // return (needToChange? sb.toString() : s);
+    }
+
+    /**
+     * Same as {@code decode(s, enc)}, where {@code utf8} tells whether
+     * {@code enc} names UTF-8. Escapes in other encodings, malformed UTF-8
+     * sequences and the escapes with signs or non-ASCII digits that the
+     * original code accepts through {@code Integer.parseInt} are not
+     * modelled.
+     */
+    private static String cproverDecode(String s, boolean utf8) {
+        boolean needToChange = false;
+        int numChars = s.length();
+        StringBuilder sb = new StringBuilder(numChars);
+        // Code point being decoded, and number of continuation bytes missing
+        int cp = 0;
+        int pending = 0;
+        // Bounds of the second byte of the sequence, to reject overlong
+        // forms, surrogates and code points beyond U+10FFFF
+        int min = 0x80;
+        int max = 0xBF;
+        int i = 0;
         while (i < numChars) {
-            c = s.charAt(i);
-            switch (c) {
-            case '+':
-                sb.append(' ');
+            char c = s.charAt(i);
+            if (c != '%') {
+                if (pending > 0) {
+                    // Decoded to replacement characters by the charset
+                    CProver.notModelled();
+                    return CProver.nondetWithoutNullForNotModelled();
+                }
+                sb.append(c == '+' ? ' ' : c);
+                needToChange |= c == '+';
                 i++;
-                needToChange = true;
-                break;
-            case '%':
-                /*
-                 * Starting with this instance of %, process all
-                 * consecutive substrings of the form %xy. Each
-                 * substring %xy will yield a byte. Convert all
-                 * consecutive  bytes obtained this way to whatever
-                 * character(s) they represent in the provided
-                 * encoding.
-                 */
-
-                try {
-
-                    // (numChars-i)/3 is an upper bound for the number
-                    // of remaining bytes
-                    if (bytes == null)
-                        bytes = new byte[(numChars-i)/3];
-                    int pos = 0;
-
-                    while ( ((i+2) < numChars) &&
-                            (c=='%')) {
-                        int v = Integer.parseInt(s.substring(i+1,i+3),16);
-                        if (v < 0)
-                            throw new IllegalArgumentException("URLDecoder: Illegal hex characters in escape (%) pattern - negative value");
-                        bytes[pos++] = (byte) v;
-                        i+= 3;
-                        if (i < numChars)
-                            c = s.charAt(i);
-                    }
-
-                    // A trailing, incomplete byte encoding such as
-                    // "%x" will cause an exception to be thrown
-
-                    if ((i < numChars) && (c=='%'))
-                        throw new IllegalArgumentException(
-                         "URLDecoder: Incomplete trailing escape (%) pattern");
-
-                    sb.append(new String(bytes, 0, pos, enc));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException(
+                continue;
+            }
+            if (i + 2 >= numChars) {
+                throw new IllegalArgumentException(
+                    "URLDecoder: Incomplete trailing escape (%) pattern");
+            }
+            char x = s.charAt(i + 1);
+            char y = s.charAt(i + 2);
+            if (x == '+' || x == '-' || x >= 0x80 || y >= 0x80) {
+                CProver.notModelled();
+                return CProver.nondetWithoutNullForNotModelled();
+            }
+            int high = cproverHexDigit(x);
+            int low = cproverHexDigit(y);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException(
                     "URLDecoder: Illegal hex characters in escape (%) pattern - "
-                    + e.getMessage());
+                    + "For input string: \"" + x + y + "\"");
+            }
+            if (!utf8) {
+                CProver.notModelled();
+                return CProver.nondetWithoutNullForNotModelled();
+            }
+            int b = (high << 4) | low;
+            needToChange = true;
+            i += 3;
+            if (pending > 0) {
+                if (b < min || b > max) {
+                    CProver.notModelled();
+                    return CProver.nondetWithoutNullForNotModelled();
+                }
+                cp = (cp << 6) | (b & 0x3F);
+                min = 0x80;
+                max = 0xBF;
+                pending--;
+            } else if (b < 0x80) {
+                cp = b;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                cp = b & 0x1F;
+                pending = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                cp = b & 0x0F;
+                pending = 2;
+                min = b == 0xE0 ? 0xA0 : 0x80;
+                max = b == 0xED ? 0x9F : 0xBF;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                cp = b & 0x07;
+                pending = 3;
+                min = b == 0xF0 ? 0x90 : 0x80;
+                max = b == 0xF4 ? 0x8F : 0xBF;
+            } else {
+                CProver.notModelled();
+                return CProver.nondetWithoutNullForNotModelled();
+            }
+            if (pending == 0) {
+                if (cp < 0x10000) {
+                    sb.append((char) cp);
+                } else {
+                    sb.append((char) (0xD800 + ((cp - 0x10000) >> 10)));
+                    sb.append((char) (0xDC00 + (cp & 0x3FF)));
                 }
-                needToChange = true;
-                break;
-            default:
-                sb.append(c);
-                i++;
-                break;
             }
         }
-
+        if (pending > 0) {
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
+        }
         return (needToChange? sb.toString() : s);
     }
+
+    private static int cproverHexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
 }
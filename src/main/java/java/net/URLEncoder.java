@@ -40,6 +40,8 @@ import java.security.PrivilegedAction;
 import sun.security.action.GetBooleanAction;
 import sun.security.action.GetPropertyAction;
 
+import org.cprover.CProver;
+
 /**
  * Utility class for HTML form encoding. This class contains static methods
  * for converting a String to the <CODE>application/x-www-form-urlencoded</CODE> MIME
@@ -200,93 +202,176 @@ public class URLEncoder {
     public static String encode(String s, String enc)
         throws UnsupportedEncodingException {
 
-        boolean needToChange = false;
-        StringBuffer out = new StringBuffer(s.length());
-        Charset charset;
-        CharArrayWriter charArrayWriter = new CharArrayWriter();
-
+        // DIFFBLUE MODEL LIBRARY
+        // UTF-8, the encoding recommended by the W3C, is encoded directly one
+        // character at a time, without the BitSet lookups, the synchronized
+        // StringBuffer and the charset machinery of the original code below.
+        // Other encodings are not modelled.
         if (enc == null)
             throw new NullPointerException("charsetName");
-
-        try {
-            charset = Charset.forName(enc);
-        } catch (IllegalCharsetNameException e) {
-            throw new UnsupportedEncodingException(enc);
-        } catch (UnsupportedCharsetException e) {
-            throw new UnsupportedEncodingException(enc);
+        if (!cproverIsUtf8(enc)) {
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
         }
+        return cproverEncodeUtf8(s);
 
-        for (int i = 0; i < s.length();) {
-            int c = (int) s.charAt(i);
-            //System.out.println("Examining character: " + c);
-            if (dontNeedEncoding.get(c)) {
-                if (c == ' ') {
-                    c = '+';
-                    needToChange = true;
-                }
-                //System.out.println("Storing: " + c);
-                out.append((char)c);
-                i++;
-            } else {
-                // convert to external encoding before hex conversion
-                do {
-                    charArrayWriter.write(c);
-                    /*
-                     * If this character represents the start of a Unicode
-                     * surrogate pair, then pass in two characters. It's not
-                     * clear what should be done if a bytes reserved in the
-                     * surrogate pairs range occurs outside of a legal
-                     * surrogate pair. For now, just treat it as if it were
-                     * any other character.
-                     */
-                    if (c >= 0xD800 && c <= 0xDBFF) {
-                        /*
-                          System.out.println(Integer.toHexString(c)
-                          + " is high surrogate");
-                        */
-                        if ( (i+1) < s.length()) {
-                            int d = (int) s.charAt(i+1);
-                            /*
-                              System.out.println("\tExamining "
-                              + Integer.toHexString(d));
-                            */
-                            if (d >= 0xDC00 && d <= 0xDFFF) {
-                                /*
-                                  System.out.println("\t"
-                                  + Integer.toHexString(d)
-                                  + " is low surrogate");
-                                */
-                                charArrayWriter.write(d);
-                                i++;
-                            }
-                        }
-                    }
-                    i++;
-                } while (i < s.length() && !dontNeedEncoding.get((c = (int) s.charAt(i))));
+        // boolean needToChange = false;
+        // StringBuffer out = new StringBuffer(s.length());
+        // Charset charset;
+        // CharArrayWriter charArrayWriter = new CharArrayWriter();
 
-                charArrayWriter.flush();
-                String str = new String(charArrayWriter.toCharArray());
-                byte[] ba = str.getBytes(charset);
-                for (int j = 0; j < ba.length; j++) {
-                    out.append('%');
-                    char ch = Character.forDigit((ba[j] >> 4) & 0xF, 16);
-                    // converting to use uppercase letter as part of
-                    // the hex value if ch is a letter.
-                    if (Character.isLetter(ch)) {
-                        ch -= caseDiff;
-                    }
-                    out.append(ch);
-                    ch = Character.forDigit(ba[j] & 0xF, 16);
-                    if (Character.isLetter(ch)) {
-                        ch -= caseDiff;
-                    }
-                    out.append(ch);
+        // if (enc == null)
+        //     throw new NullPointerException("charsetName");
+
+        // try {
+        //     charset = Charset.forName(enc);
+        // } catch (IllegalCharsetNameException e) {
+        //     throw new UnsupportedEncodingException(enc);
+        // } catch (UnsupportedCharsetException e) {
+        //     throw new UnsupportedEncodingException(enc);
+        // }
+
+        // for (int i = 0; i < s.length();) {
+        //     int c = (int) s.charAt(i);
+        //     //System.out.println("Examining character: " + c);
+        //     if (dontNeedEncoding.get(c)) {
+        //         if (c == ' ') {
+        //             c = '+';
+        //             needToChange = true;
+        //         }
+        //         //System.out.println("Storing: " + c);
+        //         out.append((char)c);
+        //         i++;
+        //     } else {
+        //         // convert to external encoding before hex conversion
+        //         do {
+        //             charArrayWriter.write(c);
+        //             /*
+        //              * If this character represents the start of a Unicode
+        //              * surrogate pair, then pass in two characters. It's not
+        //              * clear what should be done if a bytes reserved in the
+        //              * surrogate pairs range occurs outside of a legal
+        //              * surrogate pair. For now, just treat it as if it were
+        //              * any other character.
+        //              */
+        //             if (c >= 0xD800 && c <= 0xDBFF) {
+        //                 /*
+        //                   System.out.println(Integer.toHexString(c)
+        //                   + " is high surrogate");
+        //                 */
+        //                 if ( (i+1) < s.length()) {
+        //                     int d = (int) s.charAt(i+1);
+        //                     /*
+        //                       System.out.println("\tExamining "
+        //                       + Integer.toHexString(d));
+        //                     */
+        //                     if (d >= 0xDC00 && d <= 0xDFFF) {
+        //                         /*
+        //                           System.out.println("\t"
+        //                           + Integer.toHexString(d)
+        //                           + " is low surrogate");
+        //                         */
+        //                         charArrayWriter.write(d);
+        //                         i++;
+        //                     }
+        //                 }
+        //             }
+        //             i++;
+        //         } while (i < s.length() && !dontNeedEncoding.get((c = (int) s.charAt(i))));
+
+        //         charArrayWriter.flush();
+        //         String str = new String(charArrayWriter.toCharArray());
+        //         byte[] ba = str.getBytes(charset);
+        //         for (int j = 0; j < ba.length; j++) {
+        //             out.append('%');
+        //             char ch = Character.forDigit((ba[j] >> 4) & 0xF, 16);
+        //             // converting to use uppercase letter as part of
+        //             // the hex value if ch is a letter.
+        //             if (Character.isLetter(ch)) {
+        //                 ch -= caseDiff;
+        //             }
+        //             out.append(ch);
+        //             ch = Character.forDigit(ba[j] & 0xF, 16);
+        //             if (Character.isLetter(ch)) {
+        //                 ch -= caseDiff;
+        //             }
+        //             out.append(ch);
+        //         }
+        //         charArrayWriter.reset();
+        //         needToChange = true;
+        //     }
+        // }
+
+        // return (needToChange? out.toString() : s);
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Charset names are case-insensitive, and UTF8 is the only alias of
+    // UTF-8 in common use.
+    static boolean cproverIsUtf8(String enc) {
+        return "UTF-8".equalsIgnoreCase(enc) || "UTF8".equalsIgnoreCase(enc);
+    }
+
+    /**
+     * Same as {@code encode(s, "UTF-8")}. An unpaired surrogate is encoded
+     * as the replacement byte {@code '?'}, like {@link String#getBytes}
+     * does.
+     */
+    private static String cproverEncodeUtf8(String s) {
+        boolean needToChange = false;
+        int len = s.length();
+        StringBuilder out = new StringBuilder(len);
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9') || c == '-' || c == '_'
+                    || c == '.' || c == '*') {
+                out.append(c);
+                continue;
+            }
+            needToChange = true;
+            if (c == ' ') {
+                out.append('+');
+                continue;
+            }
+            int cp = c;
+            if (c >= 0xD800 && c <= 0xDFFF) {
+                char d = (i + 1 < len) ? s.charAt(i + 1) : 0;
+                if (c <= 0xDBFF && d >= 0xDC00 && d <= 0xDFFF) {
+                    cp = ((c - 0xD800) << 10) + (d - 0xDC00) + 0x10000;
+                    i++;
+                } else {
+                    cp = '?';
                 }
-                charArrayWriter.reset();
-                needToChange = true;
+            }
+            if (cp < 0x80) {
+                cproverAppendEscape(out, cp);
+            } else if (cp < 0x800) {
+                cproverAppendEscape(out, 0xC0 | (cp >> 6));
+                cproverAppendEscape(out, 0x80 | (cp & 0x3F));
+            } else if (cp < 0x10000) {
+                cproverAppendEscape(out, 0xE0 | (cp >> 12));
+                cproverAppendEscape(out, 0x80 | ((cp >> 6) & 0x3F));
+                cproverAppendEscape(out, 0x80 | (cp & 0x3F));
+            } else {
+                cproverAppendEscape(out, 0xF0 | (cp >> 18));
+                cproverAppendEscape(out, 0x80 | ((cp >> 12) & 0x3F));
+                cproverAppendEscape(out, 0x80 | ((cp >> 6) & 0x3F));
+                cproverAppendEscape(out, 0x80 | (cp & 0x3F));
             }
         }
-
         return (needToChange? out.toString() : s);
     }
+
+    /**
+     * Appends {@code %} followed by the two uppercase hexadecimal digits of
+     * the byte {@code b}.
+     */
+    private static void cproverAppendEscape(StringBuilder out, int b) {
+        int high = b >> 4;
+        int low = b & 0xF;
+        out.append('%');
+        out.append((char) (high < 10 ? '0' + high : 'A' - 10 + high));
+        out.append((char) (low < 10 ? '0' + low : 'A' - 10 + low));
+    }
 }
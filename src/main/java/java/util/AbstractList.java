@@ -181,6 +181,8 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      *
      * @throws ClassCastException   {@inheritDoc}
      * @throws NullPointerException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
      */
     public int indexOf(Object o) {
         // ListIterator<E> it = listIterator();
@@ -194,8 +196,34 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
         //             return it.previousIndex();
         // }
         // return -1;
-        CProver.notModelled();
-        return CProver.nondetInt();
+        // DIFFBLUE MODEL LIBRARY
+        // The elements of a list with random access are accessed by index,
+        // so that no iterator object is created. Other lists, where get
+        // itself walks a list iterator, use the original code.
+        if (this instanceof RandomAccess) {
+            int size = size();
+            if (o==null) {
+                for (int i = 0; i < size; i++)
+                    if (get(i)==null)
+                        return i;
+            } else {
+                for (int i = 0; i < size; i++)
+                    if (o.equals(get(i)))
+                        return i;
+            }
+            return -1;
+        }
+        ListIterator<E> it = listIterator();
+        if (o==null) {
+            while (it.hasNext())
+                if (it.next()==null)
+                    return it.previousIndex();
+        } else {
+            while (it.hasNext())
+                if (o.equals(it.next()))
+                    return it.previousIndex();
+        }
+        return -1;
     }
 
     /**
@@ -208,6 +236,8 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      *
      * @throws ClassCastException   {@inheritDoc}
      * @throws NullPointerException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
      */
     public int lastIndexOf(Object o) {
         // ListIterator<E> it = listIterator(size());
@@ -221,8 +251,31 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
         //             return it.nextIndex();
         // }
         // return -1;
-        CProver.notModelled();
-        return CProver.nondetInt();
+        // DIFFBLUE MODEL LIBRARY
+        // As in indexOf, only lists with random access are accessed by index.
+        if (this instanceof RandomAccess) {
+            if (o==null) {
+                for (int i = size() - 1; i >= 0; i--)
+                    if (get(i)==null)
+                        return i;
+            } else {
+                for (int i = size() - 1; i >= 0; i--)
+                    if (o.equals(get(i)))
+                        return i;
+            }
+            return -1;
+        }
+        ListIterator<E> it = listIterator(size());
+        if (o==null) {
+            while (it.hasPrevious())
+                if (it.previous()==null)
+                    return it.nextIndex();
+        } else {
+            while (it.hasPrevious())
+                if (o.equals(it.previous()))
+                    return it.nextIndex();
+        }
+        return -1;
     }
 
 
@@ -241,10 +294,11 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      *
      * @throws UnsupportedOperationException if the {@code clear} operation
      *         is not supported by this list
+     *
+     * @diffblue.fullSupport
      */
     public void clear() {
-        // removeRange(0, size());
-        CProver.notModelled();
+        removeRange(0, size());
     }
 
     /**
@@ -338,13 +392,13 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      * the (protected) {@link #modCount} field.
      *
      * @throws IndexOutOfBoundsException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
      */
     public ListIterator<E> listIterator(final int index) {
-        // rangeCheckForAdd(index);
+        rangeCheckForAdd(index);
 
-        // return new ListItr(index);
-        CProver.notModelled();
-        return CProver.nondetWithoutNullForNotModelled();
+        return new ListItr(index);
     }
 
     private class Itr implements Iterator<E> {
@@ -512,12 +566,14 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      * @throws IllegalArgumentException if the endpoint indices are out of order
      *         {@code (fromIndex > toIndex)}
      */
+    // DIFFBLUE MODEL LIBRARY
+    // Sublists delegate directly to this list, which is never a sublist
+    // itself, so that their methods do not unwind recursively through nested
+    // sublists. See SubList.
     public List<E> subList(int fromIndex, int toIndex) {
-        // return (this instanceof RandomAccess ?
-        //         new RandomAccessSubList<>(this, fromIndex, toIndex) :
-        //         new SubList<>(this, fromIndex, toIndex));
-        CProver.notModelled();
-        return CProver.nondetWithoutNullForNotModelled();
+        return (this instanceof RandomAccess ?
+                new RandomAccessSubList<>(this, fromIndex, toIndex) :
+                new SubList<>(this, fromIndex, toIndex));
     }
 
     // Comparison and hashing
@@ -542,30 +598,50 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      *
      * @param o the object to be compared for equality with this list
      * @return {@code true} if the specified object is equal to this list
+     *
+     * @diffblue.limitedSupport
+     * Comparing elements that are themselves compared through this method,
+     * such as lists nested in lists, is not modelled.
      */
     // DIFFBLUE MODEL LIBRARY
-    // We currently cannot enable this method, or it will cause infinite
-    // unwinding loops for methods in ArrayList that use Object.equals, like
-    // remove(Object) and contains(Object).
+    // The sizes are compared before the elements, so that lists of different
+    // sizes are found unequal without walking them.
+    // Walking the elements calls their equals method, which may be this
+    // method again, e.g. from methods in ArrayList that use Object.equals,
+    // like remove(Object) and contains(Object). Nested calls are therefore
+    // not modelled, which keeps the unwinding of equals finite.
     public boolean equals(Object o) {
-        // if (o == this)
-        //     return true;
-        // if (!(o instanceof List))
-        //     return false;
-
-        // ListIterator<E> e1 = listIterator();
-        // ListIterator<?> e2 = ((List<?>) o).listIterator();
-        // while (e1.hasNext() && e2.hasNext()) {
-        //     E o1 = e1.next();
-        //     Object o2 = e2.next();
-        //     if (!(o1==null ? o2==null : o1.equals(o2)))
-        //         return false;
-        // }
-        // return !(e1.hasNext() || e2.hasNext());
-        CProver.notModelled();
-        return CProver.nondetBoolean();
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        if (((List<?>) o).size() != size())
+            return false;
+        if (cproverEqualsDepth > 0) {
+            CProver.notModelled();
+            return CProver.nondetBoolean();
+        }
+
+        cproverEqualsDepth++;
+        try {
+            ListIterator<E> e1 = listIterator();
+            ListIterator<?> e2 = ((List<?>) o).listIterator();
+            while (e1.hasNext() && e2.hasNext()) {
+                E o1 = e1.next();
+                Object o2 = e2.next();
+                if (!(o1==null ? o2==null : o1.equals(o2)))
+                    return false;
+            }
+            return !(e1.hasNext() || e2.hasNext());
+        } finally {
+            cproverEqualsDepth--;
+        }
     }
 
+    // DIFFBLUE MODEL LIBRARY
+    // Number of calls to equals in progress, see equals.
+    private static int cproverEqualsDepth;
+
     /**
      * Returns the hash code value for this list.
      *
@@ -606,6 +682,8 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
      *
      * @param fromIndex index of first element to be removed
      * @param toIndex index after last element to be removed
+     *
+     * @diffblue.fullSupport
      */
     protected void removeRange(int fromIndex, int toIndex) {
         // ListIterator<E> it = listIterator(fromIndex);
@@ -613,7 +691,12 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
         //     it.next();
         //     it.remove();
         // }
-        CProver.notModelled();
+        // DIFFBLUE MODEL LIBRARY
+        // Removing the element at fromIndex repeatedly is what the list
+        // iterator does, without creating it.
+        for (int i=0, n=toIndex-fromIndex; i<n; i++) {
+            remove(fromIndex);
+        }
     }
 
     /**
@@ -703,8 +786,16 @@ public abstract class AbstractList<E> extends AbstractCollection<E> implements L
     }
 }
 
+// DIFFBLUE MODEL LIBRARY
+// In the original implementation a sublist of a sublist delegates to its
+// parent, so every operation recurses through all the enclosing sublists.
+// As in later versions of the jdk, a sublist here delegates directly to the
+// root list, which is not a sublist, and only updates the sizes of its
+// parents in a loop.
 class SubList<E> extends AbstractList<E> {
-    private final AbstractList<E> l;
+    // private final AbstractList<E> l;
+    private final AbstractList<E> root;
+    private final SubList<E> parent;
     private final int offset;
     private int size;
 
@@ -723,22 +814,40 @@ class SubList<E> extends AbstractList<E> {
             // throw new IllegalArgumentException("fromIndex(" + fromIndex +
             //                                    ") > toIndex(" + toIndex + ")");
             throw new IllegalArgumentException();
-        l = list;
+        // l = list;
+        root = list;
+        parent = null;
         offset = fromIndex;
         size = toIndex - fromIndex;
-        this.modCount = l.modCount;
+        this.modCount = root.modCount;
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Creates a sublist of a sublist, with the same root.
+    SubList(SubList<E> parent, int fromIndex, int toIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException();
+        if (toIndex > parent.size())
+            throw new IndexOutOfBoundsException();
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException();
+        root = parent.root;
+        this.parent = parent;
+        offset = parent.offset + fromIndex;
+        size = toIndex - fromIndex;
+        this.modCount = root.modCount;
     }
 
     public E set(int index, E element) {
         rangeCheck(index);
         checkForComodification();
-        return l.set(index+offset, element);
+        return root.set(index+offset, element);
     }
 
     public E get(int index) {
         rangeCheck(index);
         checkForComodification();
-        return l.get(index+offset);
+        return root.get(index+offset);
     }
 
     public int size() {
@@ -749,25 +858,28 @@ class SubList<E> extends AbstractList<E> {
     public void add(int index, E element) {
         rangeCheckForAdd(index);
         checkForComodification();
-        l.add(index+offset, element);
-        this.modCount = l.modCount;
-        size++;
+        root.add(index+offset, element);
+        // this.modCount = l.modCount;
+        // size++;
+        updateSizeAndModCount(1);
     }
 
     public E remove(int index) {
         rangeCheck(index);
         checkForComodification();
-        E result = l.remove(index+offset);
-        this.modCount = l.modCount;
-        size--;
+        E result = root.remove(index+offset);
+        // this.modCount = l.modCount;
+        // size--;
+        updateSizeAndModCount(-1);
         return result;
     }
 
     protected void removeRange(int fromIndex, int toIndex) {
         checkForComodification();
-        l.removeRange(fromIndex+offset, toIndex+offset);
-        this.modCount = l.modCount;
-        size -= (toIndex-fromIndex);
+        root.removeRange(fromIndex+offset, toIndex+offset);
+        // this.modCount = l.modCount;
+        // size -= (toIndex-fromIndex);
+        updateSizeAndModCount(fromIndex-toIndex);
     }
 
     public boolean addAll(Collection<? extends E> c) {
@@ -781,9 +893,10 @@ class SubList<E> extends AbstractList<E> {
             return false;
 
         checkForComodification();
-        l.addAll(offset+index, c);
-        this.modCount = l.modCount;
-        size += cSize;
+        root.addAll(offset+index, c);
+        // this.modCount = l.modCount;
+        // size += cSize;
+        updateSizeAndModCount(cSize);
         return true;
     }
 
@@ -796,7 +909,7 @@ class SubList<E> extends AbstractList<E> {
         rangeCheckForAdd(index);
 
         return new ListIterator<E>() {
-            private final ListIterator<E> i = l.listIterator(index+offset);
+            private final ListIterator<E> i = root.listIterator(index+offset);
 
             public boolean hasNext() {
                 return nextIndex() < size;
@@ -830,8 +943,9 @@ class SubList<E> extends AbstractList<E> {
 
             public void remove() {
                 i.remove();
-                SubList.this.modCount = l.modCount;
-                size--;
+                // SubList.this.modCount = l.modCount;
+                // size--;
+                updateSizeAndModCount(-1);
             }
 
             public void set(E e) {
@@ -840,8 +954,9 @@ class SubList<E> extends AbstractList<E> {
 
             public void add(E e) {
                 i.add(e);
-                SubList.this.modCount = l.modCount;
-                size++;
+                // SubList.this.modCount = l.modCount;
+                // size++;
+                updateSizeAndModCount(1);
             }
         };
     }
@@ -879,9 +994,22 @@ class SubList<E> extends AbstractList<E> {
     // }
 
     private void checkForComodification() {
-        if (this.modCount != l.modCount)
+        // if (this.modCount != l.modCount)
+        if (this.modCount != root.modCount)
             throw new ConcurrentModificationException();
     }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Applies a change of size made through this sublist to it and to all
+    // its parents.
+    private void updateSizeAndModCount(int sizeChange) {
+        SubList<E> slist = this;
+        do {
+            slist.size += sizeChange;
+            slist.modCount = root.modCount;
+            slist = slist.parent;
+        } while (slist != null);
+    }
 }
 
 class RandomAccessSubList<E> extends SubList<E> implements RandomAccess {
@@ -889,6 +1017,11 @@ class RandomAccessSubList<E> extends SubList<E> implements RandomAccess {
         super(list, fromIndex, toIndex);
     }
 
+    RandomAccessSubList(RandomAccessSubList<E> parent, int fromIndex,
+                        int toIndex) {
+        super(parent, fromIndex, toIndex);
+    }
+
     public List<E> subList(int fromIndex, int toIndex) {
         return new RandomAccessSubList<>(this, fromIndex, toIndex);
     }
@@ -0,0 +1,780 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/*
+ * This file is available under and governed by the GNU General Public
+ * License version 2 only, as published by the Free Software Foundation.
+ * However, the following notice accompanied the original version of this
+ * file:
+ *
+ * Written by Josh Bloch of Google Inc. and released to the public domain,
+ * as explained at http://creativecommons.org/publicdomain/zero/1.0/.
+ */
+
+package java.util;
+
+import java.io.Serializable;
+
+import org.cprover.CProver;
+
+/**
+ * Resizable-array implementation of the {@link Deque} interface.  Array
+ * deques have no capacity restrictions; they grow as necessary to support
+ * usage.  They are not thread-safe; in the absence of external
+ * synchronization, they do not support concurrent access by multiple threads.
+ * Null elements are prohibited.  This class is likely to be faster than
+ * {@link Stack} when used as a stack, and faster than {@link LinkedList}
+ * when used as a queue.
+ *
+ * <p>Most {@code ArrayDeque} operations run in amortized constant time.
+ * Exceptions include {@link #remove(Object) remove}, {@link
+ * #removeFirstOccurrence removeFirstOccurrence}, {@link #removeLastOccurrence
+ * removeLastOccurrence}, {@link #contains contains}, {@link #iterator
+ * iterator.remove()}, and the bulk operations, all of which run in linear
+ * time.
+ *
+ * <p>The iterators returned by this class's {@code iterator} method are
+ * <i>fail-fast</i>: If the deque is modified at any time after the iterator
+ * is created, in any way except through the iterator's own {@code remove}
+ * method, the iterator will generally throw a {@link
+ * ConcurrentModificationException}.  Thus, in the face of concurrent
+ * modification, the iterator fails quickly and cleanly, rather than risking
+ * arbitrary, non-deterministic behavior at an undetermined time in the
+ * future.
+ *
+ * <p>Note that the fail-fast behavior of an iterator cannot be guaranteed
+ * as it is, generally speaking, impossible to make any hard guarantees in the
+ * presence of unsynchronized concurrent modification.  Fail-fast iterators
+ * throw {@code ConcurrentModificationException} on a best-effort basis.
+ * Therefore, it would be wrong to write a program that depended on this
+ * exception for its correctness: <i>the fail-fast behavior of iterators
+ * should be used only to detect bugs.</i>
+ *
+ * <p>This class and its iterator implement all of the
+ * <em>optional</em> methods of the {@link Collection} and {@link
+ * Iterator} interfaces.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @author  Josh Bloch and Doug Lea
+ * @since   1.6
+ * @param <E> the type of elements held in this collection
+ *
+ * @diffblue.limitedSupport
+ * <p>The original implementation stores the elements in a power-of-two array
+ * which is doubled and copied when it becomes full. The model stores them in
+ * the circular buffer of the {@link LinkedList} model instead, so adding and
+ * removing elements at either end does not involve any resize or copy loop.
+ * The capacity restrictions documented for the {@link LinkedList} model also
+ * apply here.</p>
+ * <p>Serialization and the spliterator are not modelled.</p>
+ */
+public class ArrayDeque<E> extends AbstractCollection<E>
+                           implements Deque<E>, Cloneable, Serializable
+{
+    // DIFFBLUE MODEL LIBRARY
+    // The elements, head and tail fields of the jdk are replaced by a
+    // LinkedList model, whose circular buffer supports constant-cost
+    // insertion and removal at both ends.
+    // transient Object[] elements;
+    // transient int head;
+    // transient int tail;
+    private transient LinkedList<E> cproverList;
+
+    /**
+     * Constructs an empty array deque with an initial capacity
+     * sufficient to hold 16 elements.
+     *
+     * @diffblue.fullSupport
+     */
+    public ArrayDeque() {
+        // elements = new Object[16];
+        cproverList = new LinkedList<E>();
+    }
+
+    /**
+     * Constructs an empty array deque with an initial capacity
+     * sufficient to hold the specified number of elements.
+     *
+     * @param numElements  lower bound on initial capacity of the deque
+     *
+     * @diffblue.fullSupport
+     * The requested capacity is ignored, see {@link LinkedList#LinkedList()}.
+     */
+    public ArrayDeque(int numElements) {
+        // allocateElements(numElements);
+        cproverList = new LinkedList<E>();
+    }
+
+    /**
+     * Constructs a deque containing the elements of the specified
+     * collection, in the order they are returned by the collection's
+     * iterator.  (The first element returned by the collection's
+     * iterator becomes the first element, or <i>front</i> of the
+     * deque.)
+     *
+     * @param c the collection whose elements are to be placed into the deque
+     * @throws NullPointerException if the specified collection is null
+     *
+     * @diffblue.fullSupport
+     */
+    public ArrayDeque(Collection<? extends E> c) {
+        // allocateElements(c.size());
+        cproverList = new LinkedList<E>();
+        addAll(c);
+    }
+
+    // The main insertion and extraction methods are addFirst,
+    // addLast, pollFirst, pollLast. The other methods are defined in
+    // terms of these.
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param e the element to add
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public void addFirst(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        // elements[head = (head - 1) & (elements.length - 1)] = e;
+        // if (head == tail)
+        //     doubleCapacity();
+        cproverList.addFirst(e);
+    }
+
+    /**
+     * Inserts the specified element at the end of this deque.
+     *
+     * <p>This method is equivalent to {@link #add}.
+     *
+     * @param e the element to add
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public void addLast(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        // elements[tail] = e;
+        // if ( (tail = (tail + 1) & (elements.length - 1)) == head)
+        //     doubleCapacity();
+        cproverList.addLast(e);
+    }
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link Deque#offerFirst})
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the end of this deque.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link Deque#offerLast})
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E removeFirst() {
+        // E x = pollFirst();
+        // if (x == null)
+        //     throw new NoSuchElementException();
+        // return x;
+        return cproverList.removeFirst();
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E removeLast() {
+        // E x = pollLast();
+        // if (x == null)
+        //     throw new NoSuchElementException();
+        // return x;
+        return cproverList.removeLast();
+    }
+
+    /**
+     * @diffblue.fullSupport
+     */
+    public E pollFirst() {
+        return cproverList.size() == 0 ? null : cproverList.removeFirst();
+    }
+
+    /**
+     * @diffblue.fullSupport
+     */
+    public E pollLast() {
+        return cproverList.size() == 0 ? null : cproverList.removeLast();
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E getFirst() {
+        return cproverList.getFirst();
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E getLast() {
+        return cproverList.getLast();
+    }
+
+    /**
+     * @diffblue.fullSupport
+     */
+    public E peekFirst() {
+        return cproverList.size() == 0 ? null : cproverList.getFirst();
+    }
+
+    /**
+     * @diffblue.fullSupport
+     */
+    public E peekLast() {
+        return cproverList.size() == 0 ? null : cproverList.getLast();
+    }
+
+    /**
+     * Removes the first occurrence of the specified element in this
+     * deque (when traversing the deque from head to tail).
+     * If the deque does not contain the element, it is unchanged.
+     * More formally, removes the first element {@code e} such that
+     * {@code o.equals(e)} (if such an element exists).
+     * Returns {@code true} if this deque contained the specified element
+     * (or equivalently, if this deque changed as a result of the call).
+     *
+     * @param o element to be removed from this deque, if present
+     * @return {@code true} if the deque contained the specified element
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean removeFirstOccurrence(Object o) {
+        if (o == null)
+            return false;
+        return cproverList.removeFirstOccurrence(o);
+    }
+
+    /**
+     * Removes the last occurrence of the specified element in this
+     * deque (when traversing the deque from head to tail).
+     * If the deque does not contain the element, it is unchanged.
+     * More formally, removes the last element {@code e} such that
+     * {@code o.equals(e)} (if such an element exists).
+     * Returns {@code true} if this deque contained the specified element
+     * (or equivalently, if this deque changed as a result of the call).
+     *
+     * @param o element to be removed from this deque, if present
+     * @return {@code true} if the deque contained the specified element
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean removeLastOccurrence(Object o) {
+        if (o == null)
+            return false;
+        return cproverList.removeLastOccurrence(o);
+    }
+
+    // *** Queue methods ***
+
+    /**
+     * Inserts the specified element at the end of this deque.
+     *
+     * <p>This method is equivalent to {@link #addLast}.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link Collection#add})
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the end of this deque.
+     *
+     * <p>This method is equivalent to {@link #offerLast}.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link Queue#offer})
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean offer(E e) {
+        return offerLast(e);
+    }
+
+    /**
+     * Retrieves and removes the head of the queue represented by this deque.
+     *
+     * This method differs from {@link #poll poll} only in that it throws an
+     * exception if this deque is empty.
+     *
+     * <p>This method is equivalent to {@link #removeFirst}.
+     *
+     * @return the head of the queue represented by this deque
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E remove() {
+        return removeFirst();
+    }
+
+    /**
+     * Retrieves and removes the head of the queue represented by this deque
+     * (in other words, the first element of this deque), or returns
+     * {@code null} if this deque is empty.
+     *
+     * <p>This method is equivalent to {@link #pollFirst}.
+     *
+     * @return the head of the queue represented by this deque, or
+     *         {@code null} if this deque is empty
+     *
+     * @diffblue.fullSupport
+     */
+    public E poll() {
+        return pollFirst();
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of the queue represented by
+     * this deque.  This method differs from {@link #peek peek} only in
+     * that it throws an exception if this deque is empty.
+     *
+     * <p>This method is equivalent to {@link #getFirst}.
+     *
+     * @return the head of the queue represented by this deque
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E element() {
+        return getFirst();
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of the queue represented by
+     * this deque, or returns {@code null} if this deque is empty.
+     *
+     * <p>This method is equivalent to {@link #peekFirst}.
+     *
+     * @return the head of the queue represented by this deque, or
+     *         {@code null} if this deque is empty
+     *
+     * @diffblue.fullSupport
+     */
+    public E peek() {
+        return peekFirst();
+    }
+
+    // *** Stack methods ***
+
+    /**
+     * Pushes an element onto the stack represented by this deque.  In other
+     * words, inserts the element at the front of this deque.
+     *
+     * <p>This method is equivalent to {@link #addFirst}.
+     *
+     * @param e the element to push
+     * @throws NullPointerException if the specified element is null
+     *
+     * @diffblue.fullSupport
+     */
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    /**
+     * Pops an element from the stack represented by this deque.  In other
+     * words, removes and returns the first element of this deque.
+     *
+     * <p>This method is equivalent to {@link #removeFirst()}.
+     *
+     * @return the element at the front of this deque (which is the top
+     *         of the stack represented by this deque)
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public E pop() {
+        return removeFirst();
+    }
+
+    // *** Collection Methods ***
+
+    /**
+     * Returns the number of elements in this deque.
+     *
+     * @return the number of elements in this deque
+     *
+     * @diffblue.fullSupport
+     */
+    public int size() {
+        // return (tail - head) & (elements.length - 1);
+        return cproverList.size();
+    }
+
+    /**
+     * Returns {@code true} if this deque contains no elements.
+     *
+     * @return {@code true} if this deque contains no elements
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean isEmpty() {
+        // return head == tail;
+        return cproverList.size() == 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in this deque.  The elements
+     * will be ordered from first (head) to last (tail).  This is the same
+     * order that elements would be dequeued (via successive calls to
+     * {@link #remove} or popped (via successive calls to {@link #pop}).
+     *
+     * @return an iterator over the elements in this deque
+     *
+     * @diffblue.fullSupport
+     */
+    public Iterator<E> iterator() {
+        return new DeqIterator();
+    }
+
+    /**
+     * @diffblue.fullSupport
+     */
+    public Iterator<E> descendingIterator() {
+        return new DescendingIterator();
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // The iterators of the jdk read the elements array directly, and detect
+    // concurrent modifications by comparing the tail index. The model reads
+    // the elements by index from the LinkedList model, and compares its
+    // modCount instead.
+    private class DeqIterator implements Iterator<E> {
+        /**
+         * Index of element to be returned by subsequent call to next.
+         */
+        private int cursor = 0;
+
+        /**
+         * Index of element returned by most recent call to next.
+         * Reset to -1 if element is deleted by a call to remove.
+         */
+        private int lastRet = -1;
+
+        private int expectedModCount = cproverList.modCount;
+
+        public boolean hasNext() {
+            return cursor != cproverList.size();
+        }
+
+        public E next() {
+            if (cproverList.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= cproverList.size())
+                throw new NoSuchElementException();
+            lastRet = cursor;
+            cursor++;
+            return cproverList.get(lastRet);
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            if (cproverList.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            cproverList.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = cproverList.modCount;
+        }
+    }
+
+    private class DescendingIterator implements Iterator<E> {
+        /*
+         * This class is nearly a mirror-image of DeqIterator, starting at
+         * the last element and moving towards the first one.
+         */
+        private int cursor = cproverList.size() - 1;
+        private int lastRet = -1;
+        private int expectedModCount = cproverList.modCount;
+
+        public boolean hasNext() {
+            return cursor >= 0;
+        }
+
+        public E next() {
+            if (cproverList.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor < 0)
+                throw new NoSuchElementException();
+            lastRet = cursor;
+            cursor--;
+            return cproverList.get(lastRet);
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            if (cproverList.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            cproverList.remove(lastRet);
+            lastRet = -1;
+            expectedModCount = cproverList.modCount;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this deque contains the specified element.
+     * More formally, returns {@code true} if and only if this deque contains
+     * at least one element {@code e} such that {@code o.equals(e)}.
+     *
+     * @param o object to be checked for containment in this deque
+     * @return {@code true} if this deque contains the specified element
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean contains(Object o) {
+        if (o == null)
+            return false;
+        return cproverList.contains(o);
+    }
+
+    /**
+     * Removes a single instance of the specified element from this deque.
+     * If the deque does not contain the element, it is unchanged.
+     * More formally, removes the first element {@code e} such that
+     * {@code o.equals(e)} (if such an element exists).
+     * Returns {@code true} if this deque contained the specified element
+     * (or equivalently, if this deque changed as a result of the call).
+     *
+     * <p>This method is equivalent to {@link #removeFirstOccurrence(Object)}.
+     *
+     * @param o element to be removed from this deque, if present
+     * @return {@code true} if this deque contained the specified element
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    /**
+     * Removes all of the elements from this deque.
+     * The deque will be empty after this call returns.
+     *
+     * @diffblue.fullSupport
+     */
+    public void clear() {
+        cproverList.clear();
+    }
+
+    /**
+     * Returns an array containing all of the elements in this deque
+     * in proper sequence (from first to last element).
+     *
+     * <p>The returned array will be "safe" in that no references to it are
+     * maintained by this deque.  (In other words, this method must allocate
+     * a new array).  The caller is thus free to modify the returned array.
+     *
+     * <p>This method acts as bridge between array-based and collection-based
+     * APIs.
+     *
+     * @return an array containing all of the elements in this deque
+     *
+     * @diffblue.fullSupport
+     */
+    public Object[] toArray() {
+        // return copyElements(new Object[size()]);
+        return cproverList.toArray();
+    }
+
+    /**
+     * Returns an array containing all of the elements in this deque in
+     * proper sequence (from first to last element); the runtime type of the
+     * returned array is that of the specified array.  If the deque fits in
+     * the specified array, it is returned therein.  Otherwise, a new array
+     * is allocated with the runtime type of the specified array and the
+     * size of this deque.
+     *
+     * <p>If this deque fits in the specified array with room to spare
+     * (i.e., the array has more elements than this deque), the element in
+     * the array immediately following the end of the deque is set to
+     * {@code null}.
+     *
+     * <p>Like the {@link #toArray()} method, this method acts as bridge between
+     * array-based and collection-based APIs.  Further, this method allows
+     * precise control over the runtime type of the output array, and may,
+     * under certain circumstances, be used to save allocation costs.
+     *
+     * <p>Suppose {@code x} is a deque known to contain only strings.
+     * The following code can be used to dump the deque into a newly
+     * allocated array of {@code String}:
+     *
+     *  <pre> {@code String[] y = x.toArray(new String[0]);}</pre>
+     *
+     * Note that {@code toArray(new Object[0])} is identical in function to
+     * {@code toArray()}.
+     *
+     * @param a the array into which the elements of the deque are to
+     *          be stored, if it is big enough; otherwise, a new array of the
+     *          same runtime type is allocated for this purpose
+     * @return an array containing all of the elements in this deque
+     * @throws ArrayStoreException if the runtime type of the specified array
+     *         is not a supertype of the runtime type of every element in
+     *         this deque
+     * @throws NullPointerException if the specified array is null
+     *
+     * @diffblue.fullSupport
+     */
+    public <T> T[] toArray(T[] a) {
+        return cproverList.toArray(a);
+    }
+
+    // *** Object methods ***
+
+    /**
+     * Returns a copy of this deque.
+     *
+     * @return a copy of this deque
+     *
+     * @diffblue.fullSupport
+     * Object.clone() is implemented natively in the jdk, so the model creates
+     * the copy with a constructor instead.
+     */
+    public ArrayDeque<E> clone() {
+        // try {
+        //     @SuppressWarnings("unchecked")
+        //     ArrayDeque<E> result = (ArrayDeque<E>) super.clone();
+        //     result.elements = Arrays.copyOf(elements, elements.length);
+        //     return result;
+        // } catch (CloneNotSupportedException e) {
+        //     throw new AssertionError();
+        // }
+        return new ArrayDeque<E>(this);
+    }
+
+    private static final long serialVersionUID = 2340985798034038923L;
+
+    /**
+     * Saves this deque to a stream (that is, serializes it).
+     *
+     * @serialData The current size ({@code int}) of the deque,
+     * followed by all of its elements (each an object reference) in
+     * first-to-last order.
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    private void writeObject(java.io.ObjectOutputStream s)
+            throws java.io.IOException {
+        CProver.notModelled();
+    }
+
+    /**
+     * Reconstitutes this deque from a stream (that is, deserializes it).
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+        CProver.notModelled();
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the elements in this
+     * deque.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED}, {@link Spliterator#ORDERED}, and
+     * {@link Spliterator#NONNULL}.  Overriding implementations should document
+     * the reporting of additional characteristic values.
+     *
+     * @return a {@code Spliterator} over the elements in this deque
+     * @since 1.8
+     *
+     * @diffblue.noSupport
+     */
+    public Spliterator<E> spliterator() {
+        // return new DeqSpliterator<E>(this, -1, -1);
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This method is called by CBMC just after nondeterministic object
+    // creation, i.e. the constraints that it specifies are only enforced at
+    // that time and do not have to hold globally.
+    // We generally want to make sure that all necessary invariants of the class
+    // are satisfied, and potentially restrict some fields to speed up test
+    // generation.
+    @org.cprover.MustNotThrow
+    protected void cproverNondetInitialize() {
+        LinkedList<E> list = cproverList;
+        CProver.assume(list != null);
+        // The invariants of the list are set up by its own
+        // cproverNondetInitialize, which places its elements at the start of
+        // cproverData. Null elements are prohibited.
+        for (int i = 0; i < list.size; i++)
+            CProver.assume(list.cproverData[i] != null);
+    }
+}
@@ -28,6 +28,8 @@ package java.util;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.stream.CProverStream;
+import java.util.stream.Stream;
 
 import org.cprover.CProver;
 
@@ -1135,9 +1137,8 @@ public class ArrayList<E> extends AbstractList<E>
     // implementation in the jdk. The only very minor difference is that
     // expectedModCount = modCount needs to be defined in the constructor of the
     // Itr model.
-    // The only reason why forEachRemaining() is marked as not modelled is that
-    // we do not yet have a model for any classes implementing the Consumer
-    // interface, so we do not have a way to test this method.
+    // forEachRemaining() differs from the jdk in that the modCount is only
+    // checked once, after the loop.
     private class Itr implements Iterator<E> {
         int cursor;       // index of next element to return
         int lastRet = -1; // index of last element returned; -1 if no such
@@ -1202,7 +1203,26 @@ public class ArrayList<E> extends AbstractList<E>
             // cursor = i;
             // lastRet = i - 1;
             // checkForComodification();
-            CProver.notModelled();
+            if (consumer == null)
+                throw new NullPointerException();
+            final int size = ArrayList.this.size;
+            int i = cursor;
+            if (i >= size) {
+                return;
+            }
+            final E[] elementData = ArrayList.this.elementData;
+            if (i >= elementData.length) {
+                throw new ConcurrentModificationException();
+            }
+            // DIFFBLUE MODEL LIBRARY
+            // A single modCount check after the loop, so that each element
+            // costs one unwinding and one call to the consumer.
+            for (; i < size; i++) {
+                consumer.accept(elementData[i]);
+            }
+            cursor = i;
+            lastRet = i - 1;
+            checkForComodification();
         }
 
         final void checkForComodification() {
@@ -1481,7 +1501,25 @@ public class ArrayList<E> extends AbstractList<E>
                     // // update once at end of iteration to reduce heap write traffic
                     // lastRet = cursor = i;
                     // checkForComodification();
-                    CProver.notModelled();
+                    // DIFFBLUE MODEL LIBRARY
+                    // As in ArrayList.Itr, the modCount is only checked once,
+                    // after the loop.
+                    if (consumer == null)
+                        throw new NullPointerException();
+                    final int size = SubList.this.size;
+                    int i = cursor;
+                    if (i >= size) {
+                        return;
+                    }
+                    final E[] elementData = ArrayList.this.elementData;
+                    if (offset + i >= elementData.length) {
+                        throw new ConcurrentModificationException();
+                    }
+                    for (; i < size; i++) {
+                        consumer.accept(elementData[offset + i]);
+                    }
+                    lastRet = cursor = i;
+                    checkForComodification();
                 }
 
                 public int nextIndex() {
@@ -1580,8 +1618,8 @@ public class ArrayList<E> extends AbstractList<E>
     }
 
     // DIFFBLUE MODEL LIBRARY
-    // We do not yet have a model for any classes implementing the Consumer
-    // interface, so we do not have a way to model and test this method.
+    // Unlike the jdk, the modCount is only checked once, after the loop, so
+    // that each element costs one unwinding and one call to the consumer.
     @Override
     public void forEach(Consumer<? super E> action) {
         // Objects.requireNonNull(action);
@@ -1595,7 +1633,17 @@ public class ArrayList<E> extends AbstractList<E>
         // if (modCount != expectedModCount) {
         //     throw new ConcurrentModificationException();
         // }
-        CProver.notModelled();
+        if (action == null)
+            throw new NullPointerException();
+        final int expectedModCount = modCount;
+        final E[] elementData = this.elementData;
+        final int size = this.size;
+        for (int i = 0; i < size; i++) {
+            action.accept(elementData[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
     }
 
     /**
@@ -1621,6 +1669,44 @@ public class ArrayList<E> extends AbstractList<E>
     }
     */
 
+    /**
+     * Returns a sequential {@code Stream} with this list as its source.
+     *
+     * @return a sequential {@code Stream} over the elements in this list
+     * @since 1.8
+     *
+     * @diffblue.limitedSupport
+     * The stream is bound to the elements of the list when this method is
+     * called. Changes made by {@code set} before the terminal operation are
+     * visible, structural modifications are not detected.
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Not present in the jdk, which inherits the default method of Collection.
+    // The stream reads elementData directly, which avoids the copy made by
+    // toArray() in Collection.stream().
+    @Override
+    public Stream<E> stream() {
+        return CProverStream.cproverOf(elementData, size);
+    }
+
+    /**
+     * Returns a possibly parallel {@code Stream} with this list as its source.
+     *
+     * @return a possibly parallel {@code Stream} over the elements in this
+     * list
+     * @since 1.8
+     *
+     * @diffblue.limitedSupport
+     * The stream is evaluated sequentially, and is bound to the elements of
+     * the list when this method is called. See {@link #stream()}.
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Not present in the jdk, which inherits the default method of Collection.
+    @Override
+    public Stream<E> parallelStream() {
+        return CProverStream.<E>cproverOf(elementData, size).parallel();
+    }
+
     /** Index-based split-by-two, lazily initialized Spliterator */
     // DIFFBLUE MODEL LIBRARY
     // The ArrayListSpliterator class is not modelled yet, due to its dependency
@@ -1745,8 +1831,12 @@ public class ArrayList<E> extends AbstractList<E>
     // }
 
     // DIFFBLUE MODEL LIBRARY
-    // We do not yet have a model for any classes implementing the Predicate
-    // interface, so we do not have a way to model and test this method.
+    // The jdk records the elements to remove in a BitSet and then makes a
+    // second pass to shift the survivors. The model does both in a single
+    // pass: each surviving element is copied to a fresh array as soon as it
+    // has been tested, and the array replaces elementData only after the
+    // loop, so that the list is unmodified if the predicate throws an
+    // exception. The modCount is only checked after the loop.
     @Override
     public boolean removeIf(Predicate<? super E> filter) {
         // Objects.requireNonNull(filter);
@@ -1788,15 +1878,35 @@ public class ArrayList<E> extends AbstractList<E>
         // }
 
         // return anyToRemove;
-        CProver.notModelled();
-        return CProver.nondetBoolean();
+        if (filter == null)
+            throw new NullPointerException();
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        final E[] survivors =
+            CProver.createArrayWithType(elementData.length, elementData);
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            final E element = elementData[i];
+            if (!filter.test(element)) {
+                survivors[newSize++] = element;
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        final boolean anyToRemove = newSize < size;
+        if (anyToRemove) {
+            // The slots from newSize on are null in the fresh array
+            elementData = survivors;
+            this.size = newSize;
+            modCount++;
+        }
+        return anyToRemove;
     }
 
     // DIFFBLUE MODEL LIBRARY
-    // We do not yet have a model for any classes implementing the UnaryOperator
-    // interface, so we do not have a way to model and test this method.
+    // Unlike the jdk, the modCount is only checked once, after the loop.
     @Override
-    @SuppressWarnings("unchecked")
     public void replaceAll(UnaryOperator<E> operator) {
         // Objects.requireNonNull(operator);
         // final int expectedModCount = modCount;
@@ -1808,22 +1918,68 @@ public class ArrayList<E> extends AbstractList<E>
         //     throw new ConcurrentModificationException();
         // }
         // modCount++;
-        CProver.notModelled();
+        if (operator == null)
+            throw new NullPointerException();
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        for (int i = 0; i < size; i++) {
+            elementData[i] = operator.apply(elementData[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
     }
 
     // DIFFBLUE MODEL LIBRARY
-    // We do not yet have a model for any classes implementing the Comparator
-    // interface, so we do not have a way to model and test this method.
+    // Instead of running TimSort through Arrays.sort, we use cproverSorted,
+    // which returns a new array, so that elementData can simply be replaced.
     @Override
-    @SuppressWarnings("unchecked")
     public void sort(Comparator<? super E> c) {
-        // final int expectedModCount = modCount;
+        final int expectedModCount = modCount;
         // Arrays.sort((E[]) elementData, 0, size, c);
-        // if (modCount != expectedModCount) {
-        //     throw new ConcurrentModificationException();
-        // }
-        // modCount++;
-        CProver.notModelled();
+        elementData = cproverSorted(elementData, size, c);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Returns an array of length size, with the same runtime type as a,
+    // containing the first size elements of a sorted according to c, or to
+    // their natural ordering if c is null. This method is not present in the
+    // jdk. It is also used by List.sort.
+    // Simulating a sorting algorithm would require unwinding its loops
+    // O(n log n) times. Instead, we pick a nondeterministic permutation of the
+    // elements, which is guaranteed to be a permutation by marking each index
+    // of a as used at most once, and assume that each element compares less
+    // than or equal to the next one. This only needs n-1 comparisons.
+    // Equal elements are constrained to keep their original relative order, so
+    // the result is the one of the stable sort from the jdk.
+    // If the comparator violates its contract, the assumptions may block the
+    // execution path instead of throwing an IllegalArgumentException.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> T[] cproverSorted(T[] a, int size, Comparator<? super T> c) {
+        if (size < 2)
+            return a;
+        T[] sorted = CProver.createArrayWithType(size, a);
+        boolean[] used = new boolean[size];
+        int previousIndex = -1;
+        for (int i = 0; i < size; i++) {
+            int index = CProver.nondetInt();
+            CProver.assume(0 <= index && index < size && !used[index]);
+            used[index] = true;
+            sorted[i] = a[index];
+            if (i > 0) {
+                int cmp = (c == null)
+                    ? ((Comparable) sorted[i - 1]).compareTo(sorted[i])
+                    : c.compare(sorted[i - 1], sorted[i]);
+                CProver.assume(cmp < 0 || (cmp == 0 && previousIndex < index));
+            }
+            previousIndex = index;
+        }
+        return sorted;
     }
 
     // DIFFBLUE MODEL LIBRARY
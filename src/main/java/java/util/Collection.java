@@ -26,8 +26,8 @@
 package java.util;
 
 import java.util.function.Predicate;
+import java.util.stream.CProverStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * The root interface in the <i>collection hierarchy</i>.  A collection
@@ -576,9 +576,19 @@ public interface Collection<E> extends Iterable<E> {
      *
      * @return a sequential {@code Stream} over the elements in this collection
      * @since 1.8
+     *
+     * @diffblue.limitedSupport
+     * The elements of the stream are the elements of the collection when this
+     * method is called, rather than when the terminal operation starts.
+     * See {@link CProverStream}.
      */
     default Stream<E> stream() {
-        return StreamSupport.stream(spliterator(), false);
+        // DIFFBLUE MODEL LIBRARY
+        // The spliterator-based pipeline of the jdk is replaced by a model
+        // which evaluates all the stages in a single loop over an array.
+        // return StreamSupport.stream(spliterator(), false);
+        Object[] elements = toArray();
+        return CProverStream.cproverOf(elements, elements.length);
     }
 
     /**
@@ -597,8 +607,19 @@ public interface Collection<E> extends Iterable<E> {
      * @return a possibly parallel {@code Stream} over the elements in this
      * collection
      * @since 1.8
+     *
+     * @diffblue.limitedSupport
+     * The stream is evaluated sequentially in the calling thread, see
+     * {@link CProverStream#cproverSplitParallel}. Its elements are bound when
+     * this method is called.
      */
     default Stream<E> parallelStream() {
-        return StreamSupport.stream(spliterator(), true);
+        // DIFFBLUE MODEL LIBRARY
+        // The jdk evaluates parallel streams with ForkJoinPool tasks, which
+        // creates threads that make the analysis very expensive. The model
+        // is the sequential one with the parallel flag set.
+        // return StreamSupport.stream(spliterator(), true);
+        Object[] elements = toArray();
+        return CProverStream.<E>cproverOf(elements, elements.length).parallel();
     }
 }
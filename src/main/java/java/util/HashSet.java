@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 1997, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.util;
+
+import org.cprover.CProver;
+
+/**
+ * This class implements the <tt>Set</tt> interface, backed by a hash table
+ * (actually a <tt>HashMap</tt> instance).  It makes no guarantees as to the
+ * iteration order of the set; in particular, it does not guarantee that the
+ * order will remain constant over time.  This class permits the <tt>null</tt>
+ * element.
+ *
+ * <p>This class offers constant time performance for the basic operations
+ * (<tt>add</tt>, <tt>remove</tt>, <tt>contains</tt> and <tt>size</tt>),
+ * assuming the hash function disperses the elements properly among the
+ * buckets.  Iterating over this set requires time proportional to the sum of
+ * the <tt>HashSet</tt> instance's size (the number of elements) plus the
+ * "capacity" of the backing <tt>HashMap</tt> instance (the number of
+ * buckets).  Thus, it's very important not to set the initial capacity too
+ * high (or the load factor too low) if iteration performance is important.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a hash set concurrently, and at least one of
+ * the threads modifies the set, it <i>must</i> be synchronized externally.
+ * This is typically accomplished by synchronizing on some object that
+ * naturally encapsulates the set.
+ *
+ * If no such object exists, the set should be "wrapped" using the
+ * {@link Collections#synchronizedSet Collections.synchronizedSet}
+ * method.  This is best done at creation time, to prevent accidental
+ * unsynchronized access to the set:<pre>
+ *   Set s = Collections.synchronizedSet(new HashSet(...));</pre>
+ *
+ * <p>The iterators returned by this class's <tt>iterator</tt> method are
+ * <i>fail-fast</i>: if the set is modified at any time after the iterator is
+ * created, in any way except through the iterator's own <tt>remove</tt>
+ * method, the Iterator throws a {@link ConcurrentModificationException}.
+ * Thus, in the face of concurrent modification, the iterator fails quickly
+ * and cleanly, rather than risking arbitrary, non-deterministic behavior at
+ * an undetermined time in the future.
+ *
+ * <p>Note that the fail-fast behavior of an iterator cannot be guaranteed
+ * as it is, generally speaking, impossible to make any hard guarantees in the
+ * presence of unsynchronized concurrent modification.  Fail-fast iterators
+ * throw <tt>ConcurrentModificationException</tt> on a best-effort basis.
+ * Therefore, it would be wrong to write a program that depended on this
+ * exception for its correctness: <i>the fail-fast behavior of iterators
+ * should be used only to detect bugs.</i>
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @param <E> the type of elements maintained by this set
+ *
+ * @author  Josh Bloch
+ * @author  Neal Gafter
+ * @see     Collection
+ * @see     Set
+ * @see     TreeSet
+ * @see     HashMap
+ * @since   1.2
+ *
+ * @diffblue.limitedSupport
+ * <p>In the jdk, HashSet stores its elements as the keys of a HashMap, with a
+ * shared dummy value for each of them. The model stores the elements in a
+ * packed array instead, and looks them up with a linear search, like the
+ * model of {@link HashMap} does for its keys. This avoids allocating a map
+ * entry and writing a value that is never read for every element.</p>
+ * <p>Adding more than 5 elements to a set which was not created from a
+ * collection is not supported.</p>
+ * <p>Serialization and the spliterator are not modelled.</p>
+ */
+
+public class HashSet<E>
+    extends AbstractSet<E>
+    implements Set<E>, Cloneable, java.io.Serializable
+{
+    static final long serialVersionUID = -5024744406713321676L;
+
+    // DIFFBLUE MODEL LIBRARY
+    // The backing map is replaced by the cproverElements array below.
+    // private transient HashMap<E,Object> map;
+
+    // Dummy value to associate with an Object in the backing Map
+    // DIFFBLUE MODEL LIBRARY Variable not needed in model.
+    // private static final Object PRESENT = new Object();
+
+    // DIFFBLUE MODEL LIBRARY
+    // The number of slots allocated by the constructors which do not take a
+    // collection, which is the table size of the HashMap model.
+    static final int CPROVER_INITIAL_CAPACITY = 5;
+
+    // DIFFBLUE MODEL LIBRARY
+    // The elements of the set are stored in the first cproverSize slots of
+    // this array, without duplicates. HashSet keeps no particular order, so
+    // removing an element moves the last one into its slot, while
+    // LinkedHashSet keeps them in insertion order.
+    transient Object[] cproverElements;
+
+    transient int cproverSize;
+
+    // DIFFBLUE MODEL LIBRARY
+    // Number of structural modifications, used by the iterators to detect
+    // concurrent modifications. This is the modCount field of the backing
+    // HashMap in the jdk.
+    transient int cproverModCount;
+
+    /**
+     * Constructs a new, empty set; the backing <tt>HashMap</tt> instance has
+     * default initial capacity (16) and load factor (0.75).
+     *
+     * @diffblue.fullSupport
+     */
+    public HashSet() {
+        // map = new HashMap<>();
+        cproverElements = new Object[CPROVER_INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructs a new set containing the elements in the specified
+     * collection.  The <tt>HashMap</tt> is created with default load factor
+     * (0.75) and an initial capacity sufficient to contain the elements in
+     * the specified collection.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null
+     *
+     * @diffblue.fullSupport
+     */
+    public HashSet(Collection<? extends E> c) {
+        // map = new HashMap<>(Math.max((int) (c.size()/.75f) + 1, 16));
+        // addAll(c);
+        int n = c.size();
+        cproverElements =
+            new Object[n > CPROVER_INITIAL_CAPACITY ? n : CPROVER_INITIAL_CAPACITY];
+        // DIFFBLUE MODEL LIBRARY
+        // The collection may contain duplicates, so each element still goes
+        // through the duplicate check. This does not increment
+        // cproverModCount, as the set is still being constructed.
+        for (E e : c)
+            cproverAdd(e);
+    }
+
+    /**
+     * Constructs a new, empty set; the backing <tt>HashMap</tt> instance has
+     * the specified initial capacity and the specified load factor.
+     *
+     * @param      initialCapacity   the initial capacity of the hash map
+     * @param      loadFactor        the load factor of the hash map
+     * @throws     IllegalArgumentException if the initial capacity is less
+     *             than zero, or if the load factor is nonpositive
+     *
+     * @diffblue.fullSupport
+     */
+    public HashSet(int initialCapacity, float loadFactor) {
+        // map = new HashMap<>(initialCapacity, loadFactor);
+        // DIFFBLUE MODEL LIBRARY
+        // The string operations on the exception arguments can significantly
+        // slow down JBMC, so the exceptions are thrown without a message.
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException();
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException();
+        cproverElements = new Object[CPROVER_INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructs a new, empty set; the backing <tt>HashMap</tt> instance has
+     * the specified initial capacity and default load factor (0.75).
+     *
+     * @param      initialCapacity   the initial capacity of the hash table
+     * @throws     IllegalArgumentException if the initial capacity is less
+     *             than zero
+     *
+     * @diffblue.fullSupport
+     */
+    public HashSet(int initialCapacity) {
+        // map = new HashMap<>(initialCapacity);
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException();
+        cproverElements = new Object[CPROVER_INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructs a new, empty linked hash set.  (This package private
+     * constructor is only used by LinkedHashSet.) The backing
+     * HashMap instance is a LinkedHashMap with the specified initial
+     * capacity and the specified load factor.
+     *
+     * @param      initialCapacity   the initial capacity of the hash map
+     * @param      loadFactor        the load factor of the hash map
+     * @param      dummy             ignored (distinguishes this
+     *             constructor from other int, float constructor.)
+     * @throws     IllegalArgumentException if the initial capacity is less
+     *             than zero, or if the load factor is nonpositive
+     */
+    HashSet(int initialCapacity, float loadFactor, boolean dummy) {
+        // map = new LinkedHashMap<>(initialCapacity, loadFactor);
+        this(initialCapacity, loadFactor);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set.  The elements
+     * are returned in no particular order.
+     *
+     * @return an Iterator over the elements in this set
+     * @see ConcurrentModificationException
+     *
+     * @diffblue.fullSupport
+     */
+    public Iterator<E> iterator() {
+        // return map.keySet().iterator();
+        return new Itr();
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     *
+     * @diffblue.fullSupport
+     */
+    public int size() {
+        // return map.size();
+        return cproverSize;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains no elements.
+     *
+     * @return <tt>true</tt> if this set contains no elements
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean isEmpty() {
+        // return map.isEmpty();
+        return cproverSize == 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains the specified element.
+     * More formally, returns <tt>true</tt> if and only if this set
+     * contains an element <tt>e</tt> such that
+     * <tt>(o==null&nbsp;?&nbsp;e==null&nbsp;:&nbsp;o.equals(e))</tt>.
+     *
+     * @param o element whose presence in this set is to be tested
+     * @return <tt>true</tt> if this set contains the specified element
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean contains(Object o) {
+        // return map.containsKey(o);
+        return cproverIndexOfKey(o) >= 0;
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     * More formally, adds the specified element <tt>e</tt> to this set if
+     * this set contains no element <tt>e2</tt> such that
+     * <tt>(e==null&nbsp;?&nbsp;e2==null&nbsp;:&nbsp;e.equals(e2))</tt>.
+     * If this set already contains the element, the call leaves the set
+     * unchanged and returns <tt>false</tt>.
+     *
+     * @param e element to be added to this set
+     * @return <tt>true</tt> if this set did not already contain the specified
+     * element
+     *
+     * @diffblue.limitedSupport
+     * Like {@link HashMap#put}, the set can hold at most 5 elements unless
+     * it was created from a collection.
+     */
+    public boolean add(E e) {
+        // return map.put(e, PRESENT)==null;
+        if (cproverAdd(e)) {
+            cproverModCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     * More formally, removes an element <tt>e</tt> such that
+     * <tt>(o==null&nbsp;?&nbsp;e==null&nbsp;:&nbsp;o.equals(e))</tt>,
+     * if this set contains such an element.  Returns <tt>true</tt> if
+     * this set contained the element (or equivalently, if this set
+     * changed as a result of the call).  (This set will not contain the
+     * element once the call returns.)
+     *
+     * @param o object to be removed from this set, if present
+     * @return <tt>true</tt> if the set contained the specified element
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean remove(Object o) {
+        // return map.remove(o)==PRESENT;
+        int index = cproverIndexOfKey(o);
+        if (index < 0)
+            return false;
+        cproverRemoveIndex(index);
+        return true;
+    }
+
+    /**
+     * Removes all of the elements from this set.
+     * The set will be empty after this call returns.
+     *
+     * @diffblue.fullSupport
+     */
+    public void clear() {
+        // map.clear();
+        // DIFFBLUE MODEL LIBRARY
+        // The slots are not set to null, as only the first cproverSize
+        // slots are ever read.
+        cproverModCount++;
+        cproverSize = 0;
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>HashSet</tt> instance: the elements
+     * themselves are not cloned.
+     *
+     * @return a shallow copy of this set
+     *
+     * @diffblue.limitedSupport
+     * Object.clone() is implemented natively in the jdk, so the model creates
+     * the copy with a constructor instead. The copy is a LinkedHashSet if
+     * this set is one, and a HashSet otherwise, even for other subclasses.
+     */
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        // try {
+        //     HashSet<E> newSet = (HashSet<E>) super.clone();
+        //     newSet.map = (HashMap<E, Object>) map.clone();
+        //     return newSet;
+        // } catch (CloneNotSupportedException e) {
+        //     throw new InternalError(e);
+        // }
+        HashSet<E> newSet = this instanceof LinkedHashSet
+            ? new LinkedHashSet<E>() : new HashSet<E>();
+        int n = cproverSize;
+        Object[] elements = cproverElements;
+        Object[] copy = new Object[elements.length];
+        for (int i = 0; i < n; i++)
+            copy[i] = elements[i];
+        newSet.cproverElements = copy;
+        newSet.cproverSize = n;
+        return newSet;
+    }
+
+    /**
+     * Save the state of this <tt>HashSet</tt> instance to a stream (that is,
+     * serialize it).
+     *
+     * @serialData The capacity of the backing <tt>HashMap</tt> instance
+     *             (int), and its load factor (float) are emitted, followed by
+     *             the size of the set (the number of elements it contains)
+     *             (int), followed by all of its elements (each an Object) in
+     *             no particular order.
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws java.io.IOException {
+        CProver.notModelled();
+    }
+
+    /**
+     * Reconstitute the <tt>HashSet</tt> instance from a stream (that is,
+     * deserialize it).
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+        CProver.notModelled();
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the elements in this
+     * set.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#DISTINCT}.  Overriding implementations should document
+     * the reporting of additional characteristic values.
+     *
+     * @return a {@code Spliterator} over the elements in this set
+     * @since 1.8
+     *
+     * @diffblue.noSupport
+     */
+    public Spliterator<E> spliterator() {
+        // return new HashMap.KeySpliterator<E,Object>(map, 0, -1, 0, 0);
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This class is not present in the jdk, which iterates over the key set
+    // of the backing map. It is similar to HashMap.KeyIterator in the model.
+    final class Itr implements Iterator<E> {
+        int cursor; // index of next element to return
+        int expectedModCount;  // for fast-fail
+        int lastRet; // index of last element returned; -1 if no such
+
+        Itr() {
+            expectedModCount = cproverModCount;
+            cursor = 0;
+            lastRet = -1;
+        }
+
+        public final boolean hasNext() {
+            return cursor != cproverSize;
+        }
+
+        @SuppressWarnings("unchecked")
+        public final E next() {
+            if (cursor >= cproverSize)
+                throw new NoSuchElementException();
+            if (cproverModCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            lastRet = cursor;
+            cursor++;
+            return (E) cproverElements[lastRet];
+        }
+
+        public final void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            if (cproverModCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            // Both removal strategies put an element which has not been
+            // returned yet at index lastRet.
+            cproverRemoveIndex(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = cproverModCount;
+        }
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // A helper method used in various methods in the model to find the array
+    // index of the specified element. It has the same purpose as
+    // HashMap.cproverIndexOfKey.
+    int cproverIndexOfKey(Object key) {
+        Object[] elements = cproverElements;
+        int size = cproverSize;
+        if (key == null) {
+            for (int i = 0; i < size; i++)
+                if (elements[i] == null)
+                    return i;
+        } else {
+            for (int i = 0; i < size; i++)
+                if (key.equals(elements[i]))
+                    return i;
+        }
+        return -1;
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Appends the element if it is not already present, without incrementing
+    // cproverModCount. Returns true if the element was added.
+    private boolean cproverAdd(E e) {
+        if (cproverIndexOfKey(e) >= 0)
+            return false;
+        CProver.assume(cproverElements.length > cproverSize);
+        cproverElements[cproverSize++] = e;
+        return true;
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Remove the element at the given index in the array. This method is not
+    // present in the original jdk.
+    // Since we do not care about the order of elements in a HashSet, we can
+    // simply move the last element into the index of the removed element.
+    // LinkedHashSet overrides this method to keep the insertion order.
+    void cproverRemoveIndex(int index) {
+        cproverElements[index] = cproverElements[cproverSize - 1];
+        cproverModCount++;
+        cproverSize--;
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This method is called by CBMC just after nondeterministic object
+    // creation, i.e. the constraints that it specifies are only enforced at
+    // that time and do not have to hold globally.
+    @org.cprover.MustNotThrow
+    protected void cproverNondetInitialize() {
+        // As for HashMap, we limit the number of elements in the
+        // nondeterministically created set to at most 1 so we won't have to
+        // worry about duplicates.
+        CProver.assume(cproverSize == 0 || cproverSize == 1);
+        CProver.assume(cproverElements != null);
+        CProver.assume(cproverElements.length >= cproverSize);
+        // Nondeterministic HashSets are created using a call to the
+        //     public HashSet()
+        // constructor, followed by a sequence of calls to add, where the number
+        // of such calls is equal to size. Each call to add increments the
+        // modCount variable by 1.
+        CProver.assume(cproverModCount == cproverSize);
+    }
+}
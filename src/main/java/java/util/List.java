@@ -472,10 +472,14 @@ public interface List<E> extends Collection<E> {
      *         contract
      * @since 1.8
      */
+    // DIFFBLUE MODEL LIBRARY
+    // We use ArrayList.cproverSorted instead of Arrays.sort, which would make
+    // JBMC execute TimSort.
     @SuppressWarnings({"unchecked", "rawtypes"})
     default void sort(Comparator<? super E> c) {
         Object[] a = this.toArray();
-        Arrays.sort(a, (Comparator) c);
+        // Arrays.sort(a, (Comparator) c);
+        a = ArrayList.cproverSorted(a, a.length, (Comparator) c);
         ListIterator<E> i = this.listIterator();
         for (Object e : a) {
             i.next();
@@ -29,6 +29,7 @@ package java.util;
 // import java.util.function.DoubleConsumer;
 // import java.util.function.IntConsumer;
 // import java.util.function.LongConsumer;
+import java.util.stream.CProverStream;
  import java.util.stream.DoubleStream;
  import java.util.stream.IntStream;
  import java.util.stream.LongStream;
@@ -100,6 +101,10 @@ class Random implements java.io.Serializable {
 
     private static final double DOUBLE_UNIT = 0x1.0p-53; // 1.0 / (1L << 53)
 
+    // DIFFBLUE MODEL LIBRARY
+    // Bound on the absolute value of the results of nextGaussian().
+    private static final double CPROVER_GAUSSIAN_BOUND = 12.01;
+
     // IllegalArgumentException messages
     // static final String BadBound = "bound must be positive";
     // static final String BadRange = "bound must be greater than origin";
@@ -259,7 +264,9 @@ class Random implements java.io.Serializable {
      *
      * @diffblue.mock
      * @diffblue.limitedSupport
-     *
+     * This method fills the array with nondeterministic bytes.
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
      */
     public void nextBytes(byte[] bytes) {
         // for (int i = 0, len = bytes.length; i < len; )
@@ -267,9 +274,25 @@ class Random implements java.io.Serializable {
         //              n = Math.min(len - i, Integer.SIZE/Byte.SIZE);
         //          n-- > 0; rnd >>= Byte.SIZE)
         //         bytes[i++] = (byte)rnd;
-        for (int i = 0; i < bytes.length; i++) {
-            byte b = CProver.nondetByte();
-            bytes[i] = b;
+        // DIFFBLUE MODEL LIBRARY
+        // There is no intrinsic to make the whole content of an existing array
+        // nondeterministic, so we still need a loop. We fill eight bytes per
+        // iteration, which divides the number of unwindings needed for a
+        // given array length by eight.
+        int len = bytes.length;
+        int i = 0;
+        for (; len - i >= Long.SIZE/Byte.SIZE; i += Long.SIZE/Byte.SIZE) {
+            bytes[i] = CProver.nondetByte();
+            bytes[i + 1] = CProver.nondetByte();
+            bytes[i + 2] = CProver.nondetByte();
+            bytes[i + 3] = CProver.nondetByte();
+            bytes[i + 4] = CProver.nondetByte();
+            bytes[i + 5] = CProver.nondetByte();
+            bytes[i + 6] = CProver.nondetByte();
+            bytes[i + 7] = CProver.nondetByte();
+        }
+        for (; i < len; i++) {
+            bytes[i] = CProver.nondetByte();
         }
     }
 
@@ -687,7 +710,8 @@ class Random implements java.io.Serializable {
      *         generator's sequence
      *
      * @diffblue.fullSupport
-     * This method returns a nondeterministic {@code double} value.
+     * This method returns a nondeterministic {@code double} value in the
+     * range of values that the polar method can produce.
      * The nondeterminism is introduced by JBMC itself, and
      * probability distributions are ignored.
      *
@@ -710,7 +734,16 @@ class Random implements java.io.Serializable {
         //     haveNextNextGaussian = true;
         //     return v1 * multiplier;
         // }
-        return CProver.nondetDouble();
+        // DIFFBLUE MODEL LIBRARY
+        // Since v1 * v1 <= s, the absolute value of the result is at most
+        // sqrt(-2 * log(s)). The smallest non-zero value of s is 2^-104, as
+        // v1 and v2 are multiples of 2^-52, so the result is bounded by
+        // sqrt(208 * log(2)), which is slightly less than 12.01. It is also
+        // never NaN or infinite.
+        double result = CProver.nondetDouble();
+        CProver.assume(-CPROVER_GAUSSIAN_BOUND <= result &&
+                       result <= CPROVER_GAUSSIAN_BOUND);
+        return result;
     }
 
     // stream methods, coded in a way intended to better isolate for
@@ -729,7 +762,14 @@ class Random implements java.io.Serializable {
      *         less than zero
      * @since 1.8
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * The stream is backed by an array of {@code streamSize}
+     * nondeterministic {@code int} values.
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
+     * Exceptions for mocked methods are currently not supported.
+     *
+     * @diffblue.mock
      */
     public IntStream ints(long streamSize) {
         // if (streamSize < 0L)
@@ -738,8 +778,7 @@ class Random implements java.io.Serializable {
         //         (new RandomIntsSpliterator
         //                  (this, 0L, streamSize, Integer.MAX_VALUE, 0),
         //          false);
-        CProver.notModelled();
-        return CProver.nondetWithNullForNotModelled();
+        return cproverNondetInts(streamSize, Integer.MAX_VALUE, 0);
     }
 
     /**
@@ -798,7 +837,15 @@ class Random implements java.io.Serializable {
      *         is greater than or equal to {@code randomNumberBound}
      * @since 1.8
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * The stream is backed by an array of {@code streamSize}
+     * nondeterministic {@code int} values between {@code randomNumberOrigin}
+     * (inclusive) and {@code randomNumberBound} (exclusive).
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
+     * Exceptions for mocked methods are currently not supported.
+     *
+     * @diffblue.mock
      */
     public IntStream ints(long streamSize, int randomNumberOrigin,
                           int randomNumberBound) {
@@ -810,8 +857,9 @@ class Random implements java.io.Serializable {
         //         (new RandomIntsSpliterator
         //                  (this, 0L, streamSize, randomNumberOrigin, randomNumberBound),
         //          false);
-        CProver.notModelled();
-        return CProver.nondetWithNullForNotModelled();
+        CProver.assume(randomNumberOrigin < randomNumberBound);
+        return cproverNondetInts(streamSize, randomNumberOrigin,
+                                 randomNumberBound);
     }
 
     /**
@@ -873,7 +921,14 @@ class Random implements java.io.Serializable {
      *         less than zero
      * @since 1.8
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * The stream is backed by an array of {@code streamSize}
+     * nondeterministic {@code long} values.
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
+     * Exceptions for mocked methods are currently not supported.
+     *
+     * @diffblue.mock
      */
     public LongStream longs(long streamSize) {
         // if (streamSize < 0L)
@@ -882,8 +937,7 @@ class Random implements java.io.Serializable {
         //         (new RandomLongsSpliterator
         //                  (this, 0L, streamSize, Long.MAX_VALUE, 0L),
         //          false);
-        CProver.notModelled();
-        return CProver.nondetWithNullForNotModelled();
+        return cproverNondetLongs(streamSize, Long.MAX_VALUE, 0L);
     }
 
     /**
@@ -947,7 +1001,15 @@ class Random implements java.io.Serializable {
      *         is greater than or equal to {@code randomNumberBound}
      * @since 1.8
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * The stream is backed by an array of {@code streamSize}
+     * nondeterministic {@code long} values between {@code randomNumberOrigin}
+     * (inclusive) and {@code randomNumberBound} (exclusive).
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
+     * Exceptions for mocked methods are currently not supported.
+     *
+     * @diffblue.mock
      */
     public LongStream longs(long streamSize, long randomNumberOrigin,
                             long randomNumberBound) {
@@ -959,8 +1021,9 @@ class Random implements java.io.Serializable {
         //         (new RandomLongsSpliterator
         //                  (this, 0L, streamSize, randomNumberOrigin, randomNumberBound),
         //          false);
-        CProver.notModelled();
-        return CProver.nondetWithNullForNotModelled();
+        CProver.assume(randomNumberOrigin < randomNumberBound);
+        return cproverNondetLongs(streamSize, randomNumberOrigin,
+                                  randomNumberBound);
     }
 
     /**
@@ -1028,7 +1091,14 @@ class Random implements java.io.Serializable {
      *         less than zero
      * @since 1.8
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * The stream is backed by an array of {@code streamSize}
+     * nondeterministic {@code double} values between 0 (inclusive) and 1 (exclusive).
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
+     * Exceptions for mocked methods are currently not supported.
+     *
+     * @diffblue.mock
      */
     public DoubleStream doubles(long streamSize) {
         // if (streamSize < 0L)
@@ -1037,8 +1107,7 @@ class Random implements java.io.Serializable {
         //         (new RandomDoublesSpliterator
         //                  (this, 0L, streamSize, Double.MAX_VALUE, 0.0),
         //          false);
-        CProver.notModelled();
-        return CProver.nondetWithNullForNotModelled();
+        return cproverNondetDoubles(streamSize, Double.MAX_VALUE, 0.0);
     }
 
     /**
@@ -1093,7 +1162,15 @@ class Random implements java.io.Serializable {
      *         is greater than or equal to {@code randomNumberBound}
      * @since 1.8
      *
-     * @diffblue.noSupport
+     * @diffblue.limitedSupport
+     * The stream is backed by an array of {@code streamSize}
+     * nondeterministic {@code double} values between {@code randomNumberOrigin}
+     * (inclusive) and {@code randomNumberBound} (exclusive).
+     * The nondeterminism is introduced by JBMC itself, and
+     * probability distributions are ignored.
+     * Exceptions for mocked methods are currently not supported.
+     *
+     * @diffblue.mock
      */
     public DoubleStream doubles(long streamSize, double randomNumberOrigin,
                                 double randomNumberBound) {
@@ -1105,8 +1182,9 @@ class Random implements java.io.Serializable {
         //         (new RandomDoublesSpliterator
         //                  (this, 0L, streamSize, randomNumberOrigin, randomNumberBound),
         //          false);
-        CProver.notModelled();
-        return CProver.nondetWithNullForNotModelled();
+        CProver.assume(randomNumberOrigin < randomNumberBound);
+        return cproverNondetDoubles(streamSize, randomNumberOrigin,
+                                    randomNumberBound);
     }
 
     /**
@@ -1149,6 +1227,60 @@ class Random implements java.io.Serializable {
         return CProver.nondetWithNullForNotModelled();
     }
 
+    // DIFFBLUE MODEL LIBRARY
+    // Helper methods for the sized stream methods, not present in the original
+    // implementation. Instead of going through a spliterator that draws a new
+    // value each time the stream is advanced, the values are created up front
+    // in an array, each one carrying the range assumption of the stream, and
+    // the stream model of CProverStream is built over that array. As in the
+    // original spliterators, a bound that is not greater than the origin
+    // means that the values are unbounded (or between 0 and 1 for doubles).
+    private static IntStream cproverNondetInts(long streamSize, int origin,
+                                               int bound) {
+        CProver.assume(0L <= streamSize && streamSize <= Integer.MAX_VALUE);
+        Object[] values = new Object[(int) streamSize];
+        for (int i = 0; i < values.length; i++) {
+            int r = CProver.nondetInt();
+            if (origin < bound)
+                CProver.assume(origin <= r && r < bound);
+            values[i] = r;
+        }
+        return CProverStream.cproverOf(values, values.length)
+            .mapToInt(x -> (Integer) x);
+    }
+
+    private static LongStream cproverNondetLongs(long streamSize, long origin,
+                                                 long bound) {
+        CProver.assume(0L <= streamSize && streamSize <= Integer.MAX_VALUE);
+        Object[] values = new Object[(int) streamSize];
+        for (int i = 0; i < values.length; i++) {
+            long r = CProver.nondetLong();
+            if (origin < bound)
+                CProver.assume(origin <= r && r < bound);
+            values[i] = r;
+        }
+        return CProverStream.cproverOf(values, values.length)
+            .mapToLong(x -> (Long) x);
+    }
+
+    private static DoubleStream cproverNondetDoubles(long streamSize,
+                                                     double origin,
+                                                     double bound) {
+        CProver.assume(0L <= streamSize && streamSize <= Integer.MAX_VALUE);
+        if (!(origin < bound)) {
+            origin = 0.0;
+            bound = 1.0;
+        }
+        Object[] values = new Object[(int) streamSize];
+        for (int i = 0; i < values.length; i++) {
+            double r = CProver.nondetDouble();
+            CProver.assume(origin <= r && r < bound);
+            values[i] = r;
+        }
+        return CProverStream.cproverOf(values, values.length)
+            .mapToDouble(x -> (Double) x);
+    }
+
     /**
      * Spliterator for int streams.  We multiplex the four int
      * versions into one class by treating a bound less than origin as
@@ -0,0 +1,1866 @@
+/*
+ * Copyright (c) 1997, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.util;
+
+import java.io.Serializable;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.cprover.CProver;
+
+/**
+ * A Red-Black tree based {@link NavigableMap} implementation.
+ * The map is sorted according to the {@linkplain Comparable natural
+ * ordering} of its keys, or by a {@link Comparator} provided at map
+ * creation time, depending on which constructor is used.
+ *
+ * <p>This implementation provides guaranteed log(n) time cost for the
+ * {@code containsKey}, {@code get}, {@code put} and {@code remove}
+ * operations.  Algorithms are adaptations of those in Cormen, Leiserson, and
+ * Rivest's <em>Introduction to Algorithms</em>.
+ *
+ * <p>Note that the ordering maintained by a tree map, like any sorted map, and
+ * whether or not an explicit comparator is provided, must be <em>consistent
+ * with {@code equals}</em> if this sorted map is to correctly implement the
+ * {@code Map} interface.  (See {@code Comparable} or {@code Comparator} for a
+ * precise definition of <em>consistent with equals</em>.)  This is so because
+ * the {@code Map} interface is defined in terms of the {@code equals}
+ * operation, but a sorted map performs all key comparisons using its {@code
+ * compareTo} (or {@code compare}) method, so two keys that are deemed equal by
+ * this method are, from the standpoint of the sorted map, equal.  The behavior
+ * of a sorted map <em>is</em> well-defined even if its ordering is
+ * inconsistent with {@code equals}; it just fails to obey the general contract
+ * of the {@code Map} interface.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a map concurrently, and at least one of the
+ * threads modifies the map structurally, it <em>must</em> be synchronized
+ * externally.  (A structural modification is any operation that adds or
+ * deletes one or more mappings; merely changing the value associated
+ * with an existing key is not a structural modification.)  This is
+ * typically accomplished by synchronizing on some object that naturally
+ * encapsulates the map.
+ * If no such object exists, the map should be "wrapped" using the
+ * {@link Collections#synchronizedSortedMap Collections.synchronizedSortedMap}
+ * method.  This is best done at creation time, to prevent accidental
+ * unsynchronized access to the map: <pre>
+ *   SortedMap m = Collections.synchronizedSortedMap(new TreeMap(...));</pre>
+ *
+ * <p>The iterators returned by the {@code iterator} method of the collections
+ * returned by all of this class's "collection view methods" are
+ * <em>fail-fast</em>: if the map is structurally modified at any time after
+ * the iterator is created, in any way except through the iterator's own
+ * {@code remove} method, the iterator will throw a {@link
+ * ConcurrentModificationException}.  Thus, in the face of concurrent
+ * modification, the iterator fails quickly and cleanly, rather than risking
+ * arbitrary, non-deterministic behavior at an undetermined time in the future.
+ *
+ * <p>Note that the fail-fast behavior of an iterator cannot be guaranteed
+ * as it is, generally speaking, impossible to make any hard guarantees in the
+ * presence of unsynchronized concurrent modification.  Fail-fast iterators
+ * throw {@code ConcurrentModificationException} on a best-effort basis.
+ * Therefore, it would be wrong to write a program that depended on this
+ * exception for its correctness:   <em>the fail-fast behavior of iterators
+ * should be used only to detect bugs.</em>
+ *
+ * <p>All {@code Map.Entry} pairs returned by methods in this class
+ * and its views represent snapshots of mappings at the time they were
+ * produced. They do <strong>not</strong> support the {@code Entry.setValue}
+ * method. (Note however that it is possible to change mappings in the
+ * associated map using {@code put}.)
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  Josh Bloch and Doug Lea
+ * @see Map
+ * @see HashMap
+ * @see Hashtable
+ * @see Comparable
+ * @see Comparator
+ * @see Collection
+ * @since 1.2
+ *
+ * @diffblue.limitedSupport
+ * <p>The original implementation is a red-black tree, which is rebalanced by
+ * rotations after each insertion and deletion. The model keeps the entries
+ * in an array sorted by key instead. To find a key, the model does not
+ * search the array: it picks a nondeterministic index and assumes that the
+ * key is between the keys at the previous index and at that index. This only
+ * costs two comparisons, and the index is unique since the array is sorted.
+ * As a consequence, comparators which are not consistent (for instance not
+ * transitive) can make some executions infeasible instead of producing the
+ * behaviour of the jdk.</p>
+ * <p>Inserting or removing an entry shifts the entries after it.
+ * {@code firstKey}, {@code lastKey}, {@code floorKey}, {@code ceilingKey}
+ * and the related methods take constant time. The views returned by
+ * {@code subMap}, {@code headMap} and {@code tailMap} are windows of indices
+ * into the array, computed from their bounds each time they are used.</p>
+ * <p>Nondeterministic TreeMaps contain at most one entry. The descending
+ * views, serialization and spliterators are not modelled.</p>
+ */
+
+public class TreeMap<K,V>
+    extends AbstractMap<K,V>
+    implements NavigableMap<K,V>, Cloneable, java.io.Serializable
+{
+    /**
+     * The comparator used to maintain order in this tree map, or
+     * null if it uses the natural ordering of its keys.
+     *
+     * @serial
+     */
+    private final Comparator<? super K> comparator;
+
+    // DIFFBLUE MODEL LIBRARY
+    // The tree is replaced by the cproverTable array below.
+    // private transient Entry<K,V> root;
+
+    // DIFFBLUE MODEL LIBRARY
+    // The entries of the map are stored in the first size slots of this
+    // array, in increasing order of their keys. Like the table of the HashMap
+    // model, it holds one Entry object per mapping, so that the entries
+    // returned by the iterators can write through with setValue.
+    private transient Entry<K,V>[] cproverTable;
+
+    // DIFFBLUE MODEL LIBRARY
+    // Number of slots allocated by the constructors, as for the table of the
+    // HashMap model. The table is grown when it becomes full.
+    private static final int CPROVER_INITIAL_CAPACITY = 5;
+
+    /**
+     * The number of entries in the tree
+     */
+    private transient int size = 0;
+
+    /**
+     * The number of structural modifications to the tree.
+     */
+    private transient int modCount = 0;
+
+    /**
+     * Constructs a new, empty tree map, using the natural ordering of its
+     * keys.  All keys inserted into the map must implement the {@link
+     * Comparable} interface.  Furthermore, all such keys must be
+     * <em>mutually comparable</em>: {@code k1.compareTo(k2)} must not throw
+     * a {@code ClassCastException} for any keys {@code k1} and
+     * {@code k2} in the map.  If the user attempts to put a key into the
+     * map that violates this constraint (for example, the user attempts to
+     * put a string key into a map whose keys are integers), the
+     * {@code put(Object key, Object value)} call will throw a
+     * {@code ClassCastException}.
+     *
+     * @diffblue.fullSupport
+     */
+    public TreeMap() {
+        comparator = null;
+        cproverTable = cproverNewTable(CPROVER_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty tree map, ordered according to the given
+     * comparator.  All keys inserted into the map must be <em>mutually
+     * comparable</em> by the given comparator: {@code comparator.compare(k1,
+     * k2)} must not throw a {@code ClassCastException} for any keys
+     * {@code k1} and {@code k2} in the map.  If the user attempts to put
+     * a key into the map that violates this constraint, the {@code put(Object
+     * key, Object value)} call will throw a
+     * {@code ClassCastException}.
+     *
+     * @param comparator the comparator that will be used to order this map.
+     *        If {@code null}, the {@linkplain Comparable natural
+     *        ordering} of the keys will be used.
+     *
+     * @diffblue.fullSupport
+     */
+    public TreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+        cproverTable = cproverNewTable(CPROVER_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new tree map containing the same mappings as the given
+     * map, ordered according to the <em>natural ordering</em> of its keys.
+     * All keys inserted into the new map must implement the {@link
+     * Comparable} interface.  Furthermore, all such keys must be
+     * <em>mutually comparable</em>: {@code k1.compareTo(k2)} must not throw
+     * a {@code ClassCastException} for any keys {@code k1} and
+     * {@code k2} in the map.  This method runs in n*log(n) time.
+     *
+     * @param  m the map whose mappings are to be placed in this map
+     * @throws ClassCastException if the keys in m are not {@link Comparable},
+     *         or are not mutually comparable
+     * @throws NullPointerException if the specified map is null
+     *
+     * @diffblue.fullSupport
+     */
+    public TreeMap(Map<? extends K, ? extends V> m) {
+        comparator = null;
+        cproverTable = cproverNewTable(CPROVER_INITIAL_CAPACITY);
+        putAll(m);
+    }
+
+    /**
+     * Constructs a new tree map containing the same mappings and
+     * using the same ordering as the specified sorted map.  This
+     * method runs in linear time.
+     *
+     * @param  m the sorted map whose mappings are to be placed in this map,
+     *         and whose comparator is to be used to sort this map
+     * @throws NullPointerException if the specified map is null
+     *
+     * @diffblue.fullSupport
+     */
+    public TreeMap(SortedMap<K, ? extends V> m) {
+        comparator = m.comparator();
+        // try {
+        //     buildFromSorted(m.size(), m.entrySet().iterator(), null, null);
+        // } catch (java.io.IOException cannotHappen) {
+        // } catch (ClassNotFoundException cannotHappen) {
+        // }
+        cproverTable = cproverNewTable(CPROVER_INITIAL_CAPACITY);
+        cproverAppendSorted(m.entrySet().iterator());
+    }
+
+
+    // Query Operations
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     *
+     * @diffblue.fullSupport
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key.
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the
+     *         specified key
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean containsKey(Object key) {
+        // return getEntry(key) != null;
+        return cproverIndexOfKey(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.  More formally, returns {@code true} if and only if
+     * this map contains at least one mapping to a value {@code v} such
+     * that {@code (value==null ? v==null : value.equals(v))}.  This
+     * operation will probably require time linear in the map size for
+     * most implementations.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return {@code true} if a mapping to {@code value} exists;
+     *         {@code false} otherwise
+     * @since 1.2
+     *
+     * @diffblue.fullSupport
+     */
+    public boolean containsValue(Object value) {
+        // for (Entry<K,V> e = getFirstEntry(); e != null; e = successor(e))
+        //     if (valEquals(value, e.value))
+        //         return true;
+        // return false;
+        for (int i = 0; i < size; i++)
+            if (valEquals(value, cproverTable[i].value))
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * <p>More formally, if this map contains a mapping from a key
+     * {@code k} to a value {@code v} such that {@code key} compares
+     * equal to {@code k} according to the map's ordering, then this
+     * method returns {@code v}; otherwise it returns {@code null}.
+     * (There can be at most one such mapping.)
+     *
+     * <p>A return value of {@code null} does not <em>necessarily</em>
+     * indicate that the map contains no mapping for the key; it's also
+     * possible that the map explicitly maps the key to {@code null}.
+     * The {@link #containsKey containsKey} operation may be used to
+     * distinguish these two cases.
+     *
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     *
+     * @diffblue.fullSupport
+     */
+    public V get(Object key) {
+        // Entry<K,V> p = getEntry(key);
+        // return (p==null ? null : p.value);
+        int i = cproverIndexOfKey(key);
+        return i < 0 ? null : cproverTable[i].value;
+    }
+
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public K firstKey() {
+        // return key(getFirstEntry());
+        if (size == 0)
+            throw new NoSuchElementException();
+        return cproverTable[0].key;
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public K lastKey() {
+        // return key(getLastEntry());
+        if (size == 0)
+            throw new NoSuchElementException();
+        return cproverTable[size - 1].key;
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     * These mappings replace any mappings that this map had for any
+     * of the keys currently in the specified map.
+     *
+     * @param  map mappings to be stored in this map
+     * @throws ClassCastException if the class of a key or value in
+     *         the specified map prevents it from being stored in this map
+     * @throws NullPointerException if the specified map is null or
+     *         the specified map contains a null key and this map does not
+     *         permit null keys
+     *
+     * @diffblue.fullSupport
+     */
+    public void putAll(Map<? extends K, ? extends V> map) {
+        int mapSize = map.size();
+        if (size==0 && mapSize!=0 && map instanceof SortedMap) {
+            Comparator<?> c = ((SortedMap<?,?>)map).comparator();
+            if (c == comparator || (c != null && c.equals(comparator))) {
+                ++modCount;
+                // DIFFBLUE MODEL LIBRARY
+                // The entries are already sorted, so they are appended
+                // without looking up their position.
+                // try {
+                //     buildFromSorted(mapSize, map.entrySet().iterator(),
+                //                     null, null);
+                // } catch (java.io.IOException cannotHappen) {
+                // } catch (ClassNotFoundException cannotHappen) {
+                // }
+                cproverAppendSorted(map.entrySet().iterator());
+                return;
+            }
+        }
+        super.putAll(map);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     *
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with {@code key}.)
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     *
+     * @diffblue.fullSupport
+     */
+    public V put(K key, V value) {
+        // DIFFBLUE MODEL LIBRARY
+        // The red-black tree insertion is replaced by a lookup of the
+        // insertion point, followed by a shift of the entries after it.
+        if (size == 0)
+            compare(key, key); // type (and possibly null) check
+        else if (key == null && comparator == null)
+            throw new NullPointerException();
+        int i = cproverSearch(key);
+        if (i >= 0)
+            return cproverTable[i].setValue(value);
+        cproverInsert(-(i + 1), new Entry<>(key, value));
+        return null;
+    }
+
+    /**
+     * Removes the mapping for this key from this TreeMap if present.
+     *
+     * @param  key key for which mapping should be removed
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with {@code key}.)
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     *
+     * @diffblue.fullSupport
+     */
+    public V remove(Object key) {
+        // Entry<K,V> p = getEntry(key);
+        // if (p == null)
+        //     return null;
+        //
+        // V oldValue = p.value;
+        // deleteEntry(p);
+        // return oldValue;
+        int i = cproverIndexOfKey(key);
+        if (i < 0)
+            return null;
+        V oldValue = cproverTable[i].value;
+        cproverRemoveIndex(i);
+        return oldValue;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     *
+     * @diffblue.fullSupport
+     */
+    public void clear() {
+        modCount++;
+        size = 0;
+        // root = null;
+    }
+
+    /**
+     * Returns a shallow copy of this {@code TreeMap} instance. (The keys and
+     * values themselves are not cloned.)
+     *
+     * @return a shallow copy of this map
+     *
+     * @diffblue.fullSupport
+     * Object.clone() is implemented natively in the jdk, so the model creates
+     * the copy with a constructor instead.
+     */
+    public Object clone() {
+        // TreeMap<?,?> clone;
+        // try {
+        //     clone = (TreeMap<?,?>) super.clone();
+        // } catch (CloneNotSupportedException e) {
+        //     throw new InternalError(e);
+        // }
+        // ...
+        // clone.buildFromSorted(size, entrySet().iterator(), null, null);
+        TreeMap<K,V> clone = new TreeMap<>(comparator);
+        clone.cproverAppendSorted(new EntryIterator(0, size));
+        return clone;
+    }
+
+    // NavigableMap API methods
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> firstEntry() {
+        // return exportEntry(getFirstEntry());
+        return size == 0 ? null : exportEntry(cproverTable[0]);
+    }
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> lastEntry() {
+        // return exportEntry(getLastEntry());
+        return size == 0 ? null : exportEntry(cproverTable[size - 1]);
+    }
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> pollFirstEntry() {
+        return cproverPollIndex(size == 0 ? -1 : 0);
+    }
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> pollLastEntry() {
+        return cproverPollIndex(size - 1);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> lowerEntry(K key) {
+        // return exportEntry(getLowerEntry(key));
+        return cproverExportEntry(cproverLowerIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public K lowerKey(K key) {
+        // return keyOrNull(getLowerEntry(key));
+        return cproverKeyOrNull(cproverLowerIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> floorEntry(K key) {
+        // return exportEntry(getFloorEntry(key));
+        return cproverExportEntry(cproverFloorIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public K floorKey(K key) {
+        // return keyOrNull(getFloorEntry(key));
+        return cproverKeyOrNull(cproverFloorIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> ceilingEntry(K key) {
+        // return exportEntry(getCeilingEntry(key));
+        return cproverExportEntry(cproverCeilingIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public K ceilingKey(K key) {
+        // return keyOrNull(getCeilingEntry(key));
+        return cproverKeyOrNull(cproverCeilingIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public Map.Entry<K,V> higherEntry(K key) {
+        // return exportEntry(getHigherEntry(key));
+        return cproverExportEntry(cproverHigherIndex(key, 0, size));
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public K higherKey(K key) {
+        // return keyOrNull(getHigherEntry(key));
+        return cproverKeyOrNull(cproverHigherIndex(key, 0, size));
+    }
+
+    // Views
+
+    /**
+     * Fields initialized to contain an instance of the entry set view
+     * the first time this view is requested.  Views are stateless, so
+     * there's no reason to create more than one.
+     */
+    private transient EntrySet entrySet;
+    private transient KeySet<K> navigableKeySet;
+    // DIFFBLUE MODEL LIBRARY Descending views are not modelled.
+    // private transient NavigableMap<K,V> descendingMap;
+
+    /**
+     * Returns a {@link Set} view of the keys contained in this map.
+     *
+     * <p>The set's iterator returns the keys in ascending order.
+     * The set's spliterator is
+     * <em><a href="Spliterator.html#binding">late-binding</a></em>,
+     * <em>fail-fast</em>, and additionally reports {@link Spliterator#SORTED}
+     * and {@link Spliterator#ORDERED} with an encounter order that is ascending
+     * key order.  The spliterator's comparator (see
+     * {@link java.util.Spliterator#getComparator()}) is {@code null} if
+     * the tree map's comparator (see {@link #comparator()}) is {@code null}.
+     * Otherwise, the spliterator's comparator is the same as or imposes the
+     * same total ordering as the tree map's comparator.
+     *
+     * <p>The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  If the map is modified
+     * while an iteration over the set is in progress (except through
+     * the iterator's own {@code remove} operation), the results of
+     * the iteration are undefined.  The set supports element removal,
+     * which removes the corresponding mapping from the map, via the
+     * {@code Iterator.remove}, {@code Set.remove},
+     * {@code removeAll}, {@code retainAll}, and {@code clear}
+     * operations.  It does not support the {@code add} or {@code addAll}
+     * operations.
+     *
+     * @diffblue.fullSupport
+     */
+    public Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public NavigableSet<K> navigableKeySet() {
+        KeySet<K> nks = navigableKeySet;
+        return (nks != null) ? nks : (navigableKeySet = new KeySet<>(this));
+    }
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.noSupport
+     */
+    public NavigableSet<K> descendingKeySet() {
+        // return descendingMap().navigableKeySet();
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * Returns a {@link Collection} view of the values contained in this map.
+     *
+     * <p>The collection's iterator returns the values in ascending order
+     * of the corresponding keys. The collection's spliterator is
+     * <em><a href="Spliterator.html#binding">late-binding</a></em>,
+     * <em>fail-fast</em>, and additionally reports {@link Spliterator#ORDERED}
+     * with an encounter order that is ascending order of the corresponding
+     * keys.
+     *
+     * <p>The collection is backed by the map, so changes to the map are
+     * reflected in the collection, and vice-versa.  If the map is
+     * modified while an iteration over the collection is in progress
+     * (except through the iterator's own {@code remove} operation),
+     * the results of the iteration are undefined.  The collection
+     * supports element removal, which removes the corresponding
+     * mapping from the map, via the {@code Iterator.remove},
+     * {@code Collection.remove}, {@code removeAll},
+     * {@code retainAll} and {@code clear} operations.  It does not
+     * support the {@code add} or {@code addAll} operations.
+     *
+     * @diffblue.fullSupport
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // The values field of AbstractMap is not accessible from the model, so a
+    // new view is created each time, as in the HashMap model.
+    public Collection<V> values() {
+        // Collection<V> vs = values;
+        // if (vs == null) {
+        //     vs = new Values();
+        //     values = vs;
+        // }
+        // return vs;
+        return new Values();
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     *
+     * <p>The set's iterator returns the entries in ascending key order. The
+     * sets's spliterator is
+     * <em><a href="Spliterator.html#binding">late-binding</a></em>,
+     * <em>fail-fast</em>, and additionally reports {@link Spliterator#SORTED} and
+     * {@link Spliterator#ORDERED} with an encounter order that is ascending key
+     * order.
+     *
+     * <p>The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  If the map is modified
+     * while an iteration over the set is in progress (except through
+     * the iterator's own {@code remove} operation, or through the
+     * {@code setValue} operation on a map entry returned by the
+     * iterator) the results of the iteration are undefined.  The set
+     * supports element removal, which removes the corresponding
+     * mapping from the map, via the {@code Iterator.remove},
+     * {@code Set.remove}, {@code removeAll}, {@code retainAll} and
+     * {@code clear} operations.  It does not support the
+     * {@code add} or {@code addAll} operations.
+     *
+     * @diffblue.fullSupport
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        EntrySet es = entrySet;
+        return (es != null) ? es : (entrySet = new EntrySet());
+    }
+
+    /**
+     * @since 1.6
+     *
+     * @diffblue.noSupport
+     */
+    public NavigableMap<K, V> descendingMap() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @throws ClassCastException       {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} or {@code toKey} is
+     *         null and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @throws IllegalArgumentException {@inheritDoc}
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public NavigableMap<K,V> subMap(K fromKey, boolean fromInclusive,
+                                    K toKey,   boolean toInclusive) {
+        return new SubMap<>(this,
+                            false, fromKey, fromInclusive,
+                            false, toKey,   toInclusive);
+    }
+
+    /**
+     * @throws ClassCastException       {@inheritDoc}
+     * @throws NullPointerException if {@code toKey} is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @throws IllegalArgumentException {@inheritDoc}
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public NavigableMap<K,V> headMap(K toKey, boolean inclusive) {
+        return new SubMap<>(this,
+                            true,  null,  true,
+                            false, toKey, inclusive);
+    }
+
+    /**
+     * @throws ClassCastException       {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @throws IllegalArgumentException {@inheritDoc}
+     * @since 1.6
+     *
+     * @diffblue.fullSupport
+     */
+    public NavigableMap<K,V> tailMap(K fromKey, boolean inclusive) {
+        return new SubMap<>(this,
+                            false, fromKey, inclusive,
+                            true,  null,    true);
+    }
+
+    /**
+     * @throws ClassCastException       {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} or {@code toKey} is
+     *         null and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @throws IllegalArgumentException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public SortedMap<K,V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    /**
+     * @throws ClassCastException       {@inheritDoc}
+     * @throws NullPointerException if {@code toKey} is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @throws IllegalArgumentException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public SortedMap<K,V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    /**
+     * @throws ClassCastException       {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} is null
+     *         and this map uses natural ordering, or its comparator
+     *         does not permit null keys
+     * @throws IllegalArgumentException {@inheritDoc}
+     *
+     * @diffblue.fullSupport
+     */
+    public SortedMap<K,V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        // Entry<K,V> p = getEntry(key);
+        int i = cproverIndexOfKey(key);
+        if (i >= 0 && Objects.equals(oldValue, cproverTable[i].value)) {
+            cproverTable[i].value = newValue;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        // Entry<K,V> p = getEntry(key);
+        int i = cproverIndexOfKey(key);
+        if (i >= 0) {
+            V oldValue = cproverTable[i].value;
+            cproverTable[i].value = value;
+            return oldValue;
+        }
+        return null;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        // for (Entry<K, V> e = getFirstEntry(); e != null; e = successor(e)) {
+        for (int i = 0; i < size; i++) {
+            Entry<K, V> e = cproverTable[i];
+            action.accept(e.key, e.value);
+
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        int expectedModCount = modCount;
+
+        // for (Entry<K, V> e = getFirstEntry(); e != null; e = successor(e)) {
+        for (int i = 0; i < size; i++) {
+            Entry<K, V> e = cproverTable[i];
+            e.value = function.apply(e.key, e.value);
+
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // View class support
+
+    class Values extends AbstractCollection<V> {
+        public Iterator<V> iterator() {
+            return new ValueIterator(0, size);
+        }
+
+        public int size() {
+            return TreeMap.this.size();
+        }
+
+        public boolean contains(Object o) {
+            return TreeMap.this.containsValue(o);
+        }
+
+        public boolean remove(Object o) {
+            // for (Entry<K,V> e = getFirstEntry(); e != null; e = successor(e)) {
+            for (int i = 0; i < size; i++) {
+                if (valEquals(cproverTable[i].getValue(), o)) {
+                    cproverRemoveIndex(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public void clear() {
+            TreeMap.this.clear();
+        }
+
+        public Spliterator<V> spliterator() {
+            // return new ValueSpliterator<K,V>(TreeMap.this, null, null, 0, -1, 0);
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
+        }
+    }
+
+    class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+        public Iterator<Map.Entry<K,V>> iterator() {
+            return new EntryIterator(0, size);
+        }
+
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> entry = (Map.Entry<?,?>) o;
+            Object value = entry.getValue();
+            // Entry<K,V> p = getEntry(entry.getKey());
+            // return p != null && valEquals(p.getValue(), value);
+            int i = cproverIndexOfKey(entry.getKey());
+            return i >= 0 && valEquals(cproverTable[i].getValue(), value);
+        }
+
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> entry = (Map.Entry<?,?>) o;
+            Object value = entry.getValue();
+            // Entry<K,V> p = getEntry(entry.getKey());
+            int i = cproverIndexOfKey(entry.getKey());
+            if (i >= 0 && valEquals(cproverTable[i].getValue(), value)) {
+                cproverRemoveIndex(i);
+                return true;
+            }
+            return false;
+        }
+
+        public int size() {
+            return TreeMap.this.size();
+        }
+
+        public void clear() {
+            TreeMap.this.clear();
+        }
+
+        public Spliterator<Map.Entry<K,V>> spliterator() {
+            // return new EntrySpliterator<K,V>(TreeMap.this, null, null, 0, -1, 0);
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
+        }
+    }
+
+    /*
+     * Unlike Values and EntrySet, the KeySet class is static,
+     * delegating to a NavigableMap to allow use by SubMaps, which
+     * outweighs the ugliness of needing type-tests for the following
+     * Iterator methods that are defined appropriately in main versus
+     * submap classes.
+     */
+
+    Iterator<K> keyIterator() {
+        // return new KeyIterator(getFirstEntry());
+        return new KeyIterator(0, size);
+    }
+
+    Iterator<K> descendingKeyIterator() {
+        // return new DescendingKeyIterator(getLastEntry());
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    static final class KeySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+        private final NavigableMap<E, ?> m;
+        KeySet(NavigableMap<E,?> map) { m = map; }
+
+        public Iterator<E> iterator() {
+            if (m instanceof TreeMap)
+                return ((TreeMap<E,?>)m).keyIterator();
+            else
+                return ((TreeMap.SubMap<E,?>)m).keyIterator();
+        }
+
+        public Iterator<E> descendingIterator() {
+            if (m instanceof TreeMap)
+                return ((TreeMap<E,?>)m).descendingKeyIterator();
+            else
+                return ((TreeMap.SubMap<E,?>)m).descendingKeyIterator();
+        }
+
+        public int size() { return m.size(); }
+        public boolean isEmpty() { return m.isEmpty(); }
+        public boolean contains(Object o) { return m.containsKey(o); }
+        public void clear() { m.clear(); }
+        public E lower(E e) { return m.lowerKey(e); }
+        public E floor(E e) { return m.floorKey(e); }
+        public E ceiling(E e) { return m.ceilingKey(e); }
+        public E higher(E e) { return m.higherKey(e); }
+        public E first() { return m.firstKey(); }
+        public E last() { return m.lastKey(); }
+        public Comparator<? super E> comparator() { return m.comparator(); }
+        public E pollFirst() {
+            Map.Entry<E,?> e = m.pollFirstEntry();
+            return (e == null) ? null : e.getKey();
+        }
+        public E pollLast() {
+            Map.Entry<E,?> e = m.pollLastEntry();
+            return (e == null) ? null : e.getKey();
+        }
+        public boolean remove(Object o) {
+            int oldSize = size();
+            m.remove(o);
+            return size() != oldSize;
+        }
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive,
+                                      E toElement,   boolean toInclusive) {
+            return new KeySet<>(m.subMap(fromElement, fromInclusive,
+                                          toElement,   toInclusive));
+        }
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            return new KeySet<>(m.headMap(toElement, inclusive));
+        }
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            return new KeySet<>(m.tailMap(fromElement, inclusive));
+        }
+        public SortedSet<E> subSet(E fromElement, E toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+        public SortedSet<E> headSet(E toElement) {
+            return headSet(toElement, false);
+        }
+        public SortedSet<E> tailSet(E fromElement) {
+            return tailSet(fromElement, true);
+        }
+        public NavigableSet<E> descendingSet() {
+            return new KeySet<>(m.descendingMap());
+        }
+
+        public Spliterator<E> spliterator() {
+            return keySpliteratorFor(m);
+        }
+    }
+
+    /**
+     * Base class for TreeMap Iterators
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // The iterators of the model go through the indices in [cursor, fence)
+    // of the table instead of following the successors of tree nodes.
+    abstract class PrivateEntryIterator<T> implements Iterator<T> {
+        // Entry<K,V> next;
+        // Entry<K,V> lastReturned;
+        int cursor; // index of next entry to return
+        int fence; // index after the last entry to return
+        int lastRet; // index of last entry returned; -1 if no such
+        int expectedModCount;
+
+        PrivateEntryIterator(int first, int fence) {
+            expectedModCount = modCount;
+            lastRet = -1;
+            cursor = first;
+            this.fence = fence;
+        }
+
+        public final boolean hasNext() {
+            return cursor < fence;
+        }
+
+        final Entry<K,V> nextEntry() {
+            if (cursor >= fence)
+                throw new NoSuchElementException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            lastRet = cursor;
+            cursor++;
+            return cproverTable[lastRet];
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            cproverRemoveIndex(lastRet);
+            cursor = lastRet;
+            fence--;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    final class EntryIterator extends PrivateEntryIterator<Map.Entry<K,V>> {
+        EntryIterator(int first, int fence) {
+            super(first, fence);
+        }
+        public Map.Entry<K,V> next() {
+            return nextEntry();
+        }
+    }
+
+    final class ValueIterator extends PrivateEntryIterator<V> {
+        ValueIterator(int first, int fence) {
+            super(first, fence);
+        }
+        public V next() {
+            return nextEntry().value;
+        }
+    }
+
+    final class KeyIterator extends PrivateEntryIterator<K> {
+        KeyIterator(int first, int fence) {
+            super(first, fence);
+        }
+        public K next() {
+            return nextEntry().key;
+        }
+    }
+
+    // Little utilities
+
+    /**
+     * Compares two keys using the correct comparison method for this TreeMap.
+     */
+    @SuppressWarnings("unchecked")
+    final int compare(Object k1, Object k2) {
+        return comparator==null ? ((Comparable<? super K>)k1).compareTo((K)k2)
+            : comparator.compare((K)k1, (K)k2);
+    }
+
+    /**
+     * Test two values for equality.  Differs from o1.equals(o2) only in
+     * that it copes with {@code null} o1 properly.
+     */
+    static final boolean valEquals(Object o1, Object o2) {
+        return (o1==null ? o2==null : o1.equals(o2));
+    }
+
+    /**
+     * Return SimpleImmutableEntry for entry, or null if null
+     */
+    static <K,V> Map.Entry<K,V> exportEntry(TreeMap.Entry<K,V> e) {
+        return (e == null) ? null :
+            new AbstractMap.SimpleImmutableEntry<>(e);
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // The methods below are not present in the jdk.
+
+    // Returns an immutable copy of the entry at index i, or null if i is
+    // negative.
+    final Map.Entry<K,V> cproverExportEntry(int i) {
+        return i < 0 ? null : exportEntry(cproverTable[i]);
+    }
+
+    // Returns the key at index i, or null if i is negative.
+    final K cproverKeyOrNull(int i) {
+        return i < 0 ? null : cproverTable[i].key;
+    }
+
+    // Removes the entry at index i and returns an immutable copy of it, or
+    // returns null if i is negative.
+    final Map.Entry<K,V> cproverPollIndex(int i) {
+        if (i < 0)
+            return null;
+        Map.Entry<K,V> result = exportEntry(cproverTable[i]);
+        cproverRemoveIndex(i);
+        return result;
+    }
+
+    // Looks up the key in the table. Returns the index of the entry with this
+    // key if there is one, and -(insertion point + 1) otherwise, like
+    // Arrays.binarySearch. Instead of a search loop, the insertion point is a
+    // nondeterministic index, constrained by comparing the key with the
+    // entries on each side of it. Since the table is sorted, the only index
+    // satisfying these assumptions is the one binary search would find.
+    final int cproverSearch(Object key) {
+        int i = CProver.nondetInt();
+        CProver.assume(i >= 0 && i <= size);
+        if (i > 0)
+            CProver.assume(compare(cproverTable[i - 1].key, key) < 0);
+        if (i < size) {
+            int cmp = compare(key, cproverTable[i].key);
+            CProver.assume(cmp <= 0);
+            if (cmp == 0)
+                return i;
+        }
+        return -(i + 1);
+    }
+
+    // Returns the index of the entry with the given key, or -1 if there is
+    // none. This replaces getEntry, and throws the same exceptions.
+    final int cproverIndexOfKey(Object key) {
+        if (key == null && comparator == null)
+            throw new NullPointerException();
+        int i = cproverSearch(key);
+        return i >= 0 ? i : -1;
+    }
+
+    // The following methods return the index of the entry with the greatest
+    // key strictly less than (lower), less than or equal to (floor), the least
+    // key greater than or equal to (ceiling) and strictly greater than
+    // (higher) the given key, among the entries at indices [start, end).
+    // They return -1 if there is no such entry. They replace getLowerEntry,
+    // getFloorEntry, getCeilingEntry and getHigherEntry.
+    final int cproverLowerIndex(Object key, int start, int end) {
+        int i = cproverSearch(key);
+        i = (i >= 0 ? i : -(i + 1)) - 1;
+        return cproverClampDown(i, start, end);
+    }
+
+    final int cproverFloorIndex(Object key, int start, int end) {
+        int i = cproverSearch(key);
+        i = i >= 0 ? i : -(i + 1) - 1;
+        return cproverClampDown(i, start, end);
+    }
+
+    final int cproverCeilingIndex(Object key, int start, int end) {
+        int i = cproverSearch(key);
+        i = i >= 0 ? i : -(i + 1);
+        return cproverClampUp(i, start, end);
+    }
+
+    final int cproverHigherIndex(Object key, int start, int end) {
+        int i = cproverSearch(key);
+        i = i >= 0 ? i + 1 : -(i + 1);
+        return cproverClampUp(i, start, end);
+    }
+
+    private static int cproverClampDown(int i, int start, int end) {
+        if (i >= end)
+            i = end - 1;
+        return i < start ? -1 : i;
+    }
+
+    private static int cproverClampUp(int i, int start, int end) {
+        if (i < start)
+            i = start;
+        return i < end ? i : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K,V> Entry<K,V>[] cproverNewTable(int capacity) {
+        return (Entry<K,V>[]) new Entry<?,?>[capacity];
+    }
+
+    // Inserts the entry at index i, shifting the following entries.
+    private void cproverInsert(int i, Entry<K,V> e) {
+        Entry<K,V>[] table = cproverTable;
+        if (size == table.length) {
+            Entry<K,V>[] newTable = cproverNewTable(2 * size + 1);
+            for (int j = 0; j < size; j++)
+                newTable[j] = table[j];
+            cproverTable = table = newTable;
+        }
+        for (int j = size; j > i; j--)
+            table[j] = table[j - 1];
+        table[i] = e;
+        size++;
+        modCount++;
+    }
+
+    // Removes the entry at index i, shifting the following entries.
+    // This replaces deleteEntry.
+    final void cproverRemoveIndex(int i) {
+        Entry<K,V>[] table = cproverTable;
+        for (int j = i; j < size - 1; j++)
+            table[j] = table[j + 1];
+        size--;
+        modCount++;
+    }
+
+    // Appends the entries returned by the iterator, which are sorted
+    // according to the comparator of this map, to the table. This replaces
+    // buildFromSorted.
+    @SuppressWarnings("unchecked")
+    private void cproverAppendSorted(Iterator<?> it) {
+        while (it.hasNext()) {
+            Map.Entry<? extends K, ? extends V> entry =
+                (Map.Entry<? extends K, ? extends V>) it.next();
+            Entry<K,V> e = new Entry<>(entry.getKey(), entry.getValue());
+            if (size == cproverTable.length)
+                cproverInsert(size, e);
+            else {
+                cproverTable[size++] = e;
+                modCount++;
+            }
+        }
+    }
+
+    // Appends the keys of a sorted set, each mapped to the given value.
+    private void cproverAppendSortedKeys(Iterator<? extends K> it, V value) {
+        while (it.hasNext()) {
+            Entry<K,V> e = new Entry<>(it.next(), value);
+            if (size == cproverTable.length)
+                cproverInsert(size, e);
+            else {
+                cproverTable[size++] = e;
+                modCount++;
+            }
+        }
+    }
+
+    // SubMaps
+
+    // DIFFBLUE MODEL LIBRARY
+    // The NavigableSubMap, AscendingSubMap and DescendingSubMap classes of the
+    // jdk are replaced by the SubMap class below, which only supports
+    // ascending views. Its entries are the entries of the backing map at
+    // indices [cproverStart(), cproverEnd()), which are computed from the
+    // bounds of the view each time they are needed.
+
+    /**
+     * View of the entries of a TreeMap between two bounds.
+     */
+    static final class SubMap<K,V> extends AbstractMap<K,V>
+        implements NavigableMap<K,V>, java.io.Serializable {
+        private static final long serialVersionUID = -2102997345730753016L;
+        /**
+         * The backing map.
+         */
+        final TreeMap<K,V> m;
+
+        /**
+         * Endpoints are represented as triples (fromStart, lo,
+         * loInclusive) and (toEnd, hi, hiInclusive). If fromStart is
+         * true, then the low (absolute) bound is the start of the
+         * backing map, and the other values are ignored. Otherwise,
+         * if loInclusive is true, lo is an inclusive bound, else lo
+         * is exclusive. Similarly for the upper bound.
+         */
+        final K lo, hi;
+        final boolean fromStart, toEnd;
+        final boolean loInclusive, hiInclusive;
+
+        SubMap(TreeMap<K,V> m,
+               boolean fromStart, K lo, boolean loInclusive,
+               boolean toEnd,     K hi, boolean hiInclusive) {
+            if (!fromStart && !toEnd) {
+                if (m.compare(lo, hi) > 0)
+                    throw new IllegalArgumentException("fromKey > toKey");
+            } else {
+                if (!fromStart) // type check
+                    m.compare(lo, lo);
+                if (!toEnd)
+                    m.compare(hi, hi);
+            }
+
+            this.m = m;
+            this.fromStart = fromStart;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.toEnd = toEnd;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+        }
+
+        // internal utilities
+
+        final boolean tooLow(Object key) {
+            if (!fromStart) {
+                int c = m.compare(key, lo);
+                if (c < 0 || (c == 0 && !loInclusive))
+                    return true;
+            }
+            return false;
+        }
+
+        final boolean tooHigh(Object key) {
+            if (!toEnd) {
+                int c = m.compare(key, hi);
+                if (c > 0 || (c == 0 && !hiInclusive))
+                    return true;
+            }
+            return false;
+        }
+
+        final boolean inRange(Object key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        final boolean inClosedRange(Object key) {
+            return (fromStart || m.compare(key, lo) >= 0)
+                && (toEnd || m.compare(hi, key) >= 0);
+        }
+
+        final boolean inRange(Object key, boolean inclusive) {
+            return inclusive ? inRange(key) : inClosedRange(key);
+        }
+
+        // Index of the first entry of the view in the backing table.
+        final int cproverStart() {
+            if (fromStart)
+                return 0;
+            int i = m.cproverSearch(lo);
+            if (i < 0)
+                return -(i + 1);
+            return loInclusive ? i : i + 1;
+        }
+
+        // Index after the last entry of the view in the backing table.
+        final int cproverEnd() {
+            if (toEnd)
+                return m.size;
+            int i = m.cproverSearch(hi);
+            if (i < 0)
+                return -(i + 1);
+            return hiInclusive ? i + 1 : i;
+        }
+
+        // public methods
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        public int size() {
+            if (fromStart && toEnd)
+                return m.size();
+            int size = cproverEnd() - cproverStart();
+            return size > 0 ? size : 0;
+        }
+
+        public final boolean containsKey(Object key) {
+            return inRange(key) && m.containsKey(key);
+        }
+
+        public final V put(K key, V value) {
+            if (!inRange(key))
+                throw new IllegalArgumentException("key out of range");
+            return m.put(key, value);
+        }
+
+        public final V get(Object key) {
+            return !inRange(key) ? null :  m.get(key);
+        }
+
+        public final V remove(Object key) {
+            return !inRange(key) ? null : m.remove(key);
+        }
+
+        public final Comparator<? super K> comparator() {
+            return m.comparator();
+        }
+
+        public final Map.Entry<K,V> ceilingEntry(K key) {
+            return m.cproverExportEntry(
+                m.cproverCeilingIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final K ceilingKey(K key) {
+            return m.cproverKeyOrNull(
+                m.cproverCeilingIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final Map.Entry<K,V> higherEntry(K key) {
+            return m.cproverExportEntry(
+                m.cproverHigherIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final K higherKey(K key) {
+            return m.cproverKeyOrNull(
+                m.cproverHigherIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final Map.Entry<K,V> floorEntry(K key) {
+            return m.cproverExportEntry(
+                m.cproverFloorIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final K floorKey(K key) {
+            return m.cproverKeyOrNull(
+                m.cproverFloorIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final Map.Entry<K,V> lowerEntry(K key) {
+            return m.cproverExportEntry(
+                m.cproverLowerIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        public final K lowerKey(K key) {
+            return m.cproverKeyOrNull(
+                m.cproverLowerIndex(key, cproverStart(), cproverEnd()));
+        }
+
+        // Index of the first entry of the view, or -1 if it is empty.
+        private int cproverFirstIndex() {
+            int start = cproverStart();
+            return start < cproverEnd() ? start : -1;
+        }
+
+        // Index of the last entry of the view, or -1 if it is empty.
+        private int cproverLastIndex() {
+            int end = cproverEnd();
+            return cproverStart() < end ? end - 1 : -1;
+        }
+
+        public final K firstKey() {
+            int i = cproverFirstIndex();
+            if (i < 0)
+                throw new NoSuchElementException();
+            return m.cproverTable[i].key;
+        }
+
+        public final K lastKey() {
+            int i = cproverLastIndex();
+            if (i < 0)
+                throw new NoSuchElementException();
+            return m.cproverTable[i].key;
+        }
+
+        public final Map.Entry<K,V> firstEntry() {
+            return m.cproverExportEntry(cproverFirstIndex());
+        }
+
+        public final Map.Entry<K,V> lastEntry() {
+            return m.cproverExportEntry(cproverLastIndex());
+        }
+
+        public final Map.Entry<K,V> pollFirstEntry() {
+            return m.cproverPollIndex(cproverFirstIndex());
+        }
+
+        public final Map.Entry<K,V> pollLastEntry() {
+            return m.cproverPollIndex(cproverLastIndex());
+        }
+
+        // Views
+        transient KeySet<K> navigableKeySetView;
+        transient EntrySetView entrySetView;
+
+        public final NavigableSet<K> navigableKeySet() {
+            KeySet<K> nksv = navigableKeySetView;
+            return (nksv != null) ? nksv :
+                (navigableKeySetView = new TreeMap.KeySet<>(this));
+        }
+
+        public final Set<K> keySet() {
+            return navigableKeySet();
+        }
+
+        public Set<Map.Entry<K,V>> entrySet() {
+            EntrySetView es = entrySetView;
+            return (es != null) ? es : (entrySetView = new EntrySetView());
+        }
+
+        /**
+         * @diffblue.noSupport
+         */
+        public NavigableSet<K> descendingKeySet() {
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
+        }
+
+        /**
+         * @diffblue.noSupport
+         */
+        public NavigableMap<K,V> descendingMap() {
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
+        }
+
+        public final SortedMap<K,V> subMap(K fromKey, K toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        public final SortedMap<K,V> headMap(K toKey) {
+            return headMap(toKey, false);
+        }
+
+        public final SortedMap<K,V> tailMap(K fromKey) {
+            return tailMap(fromKey, true);
+        }
+
+        public NavigableMap<K,V> subMap(K fromKey, boolean fromInclusive,
+                                        K toKey,   boolean toInclusive) {
+            if (!inRange(fromKey, fromInclusive))
+                throw new IllegalArgumentException("fromKey out of range");
+            if (!inRange(toKey, toInclusive))
+                throw new IllegalArgumentException("toKey out of range");
+            return new SubMap<>(m,
+                                false, fromKey, fromInclusive,
+                                false, toKey,   toInclusive);
+        }
+
+        public NavigableMap<K,V> headMap(K toKey, boolean inclusive) {
+            if (!inRange(toKey, inclusive))
+                throw new IllegalArgumentException("toKey out of range");
+            return new SubMap<>(m,
+                                fromStart, lo,    loInclusive,
+                                false,     toKey, inclusive);
+        }
+
+        public NavigableMap<K,V> tailMap(K fromKey, boolean inclusive) {
+            if (!inRange(fromKey, inclusive))
+                throw new IllegalArgumentException("fromKey out of range");
+            return new SubMap<>(m,
+                                false, fromKey, inclusive,
+                                toEnd, hi,      hiInclusive);
+        }
+
+        Iterator<K> keyIterator() {
+            return m.new KeyIterator(cproverStart(), cproverEnd());
+        }
+
+        Iterator<K> descendingKeyIterator() {
+            CProver.notModelled();
+            return CProver.nondetWithoutNullForNotModelled();
+        }
+
+        final class EntrySetView extends AbstractSet<Map.Entry<K,V>> {
+            public Iterator<Map.Entry<K,V>> iterator() {
+                return m.new EntryIterator(cproverStart(), cproverEnd());
+            }
+
+            public int size() {
+                return SubMap.this.size();
+            }
+
+            public boolean isEmpty() {
+                return SubMap.this.isEmpty();
+            }
+
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry))
+                    return false;
+                Map.Entry<?,?> entry = (Map.Entry<?,?>) o;
+                Object key = entry.getKey();
+                if (!inRange(key))
+                    return false;
+                int i = m.cproverIndexOfKey(key);
+                return i >= 0 &&
+                    valEquals(m.cproverTable[i].getValue(), entry.getValue());
+            }
+
+            public boolean remove(Object o) {
+                if (!(o instanceof Map.Entry))
+                    return false;
+                Map.Entry<?,?> entry = (Map.Entry<?,?>) o;
+                Object key = entry.getKey();
+                if (!inRange(key))
+                    return false;
+                int i = m.cproverIndexOfKey(key);
+                if (i >= 0 &&
+                    valEquals(m.cproverTable[i].getValue(), entry.getValue())) {
+                    m.cproverRemoveIndex(i);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Node in the Tree.  Doubles as a means to pass key-value pairs back to
+     * user (see Map.Entry).
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // The tree links and the color are not needed in the model.
+    static final class Entry<K,V> implements Map.Entry<K,V> {
+        K key;
+        V value;
+        // Entry<K,V> left;
+        // Entry<K,V> right;
+        // Entry<K,V> parent;
+        // boolean color = BLACK;
+
+        /**
+         * Make a new cell with given key and value.
+         */
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns the key.
+         *
+         * @return the key
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the value associated with the key.
+         *
+         * @return the value associated with the key
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Replaces the value currently associated with the key with the given
+         * value.
+         *
+         * @return the value associated with the key before this method was
+         *         called
+         */
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+
+            return valEquals(key,e.getKey()) && valEquals(value,e.getValue());
+        }
+
+        public int hashCode() {
+            int keyHash = (key==null ? 0 : key.hashCode());
+            int valueHash = (value==null ? 0 : value.hashCode());
+            return keyHash ^ valueHash;
+        }
+
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private static final long serialVersionUID = 919286545866124006L;
+
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws java.io.IOException {
+        CProver.notModelled();
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    private void readObject(final java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+        CProver.notModelled();
+    }
+
+    /** Intended to be called only from TreeSet.readObject */
+    // DIFFBLUE MODEL LIBRARY
+    // Serialization is not modelled.
+    void readTreeSet(int size, java.io.ObjectInputStream s, V defaultVal)
+        throws java.io.IOException, ClassNotFoundException {
+        CProver.notModelled();
+    }
+
+    /** Intended to be called only from TreeSet.addAll */
+    void addAllForTreeSet(SortedSet<? extends K> set, V defaultVal) {
+        // try {
+        //     buildFromSorted(set.size(), set.iterator(), null, defaultVal);
+        // } catch (java.io.IOException cannotHappen) {
+        // } catch (ClassNotFoundException cannotHappen) {
+        // }
+        cproverAppendSortedKeys(set.iterator(), defaultVal);
+    }
+
+    /**
+     * Currently, we support Spliterator-based versions only for the
+     * full map, in either plain of descending form, otherwise relying
+     * on defaults because size estimation for submaps would dominate
+     * costs. The type tests needed to check these for key views are
+     * not very nice but avoid disrupting existing class
+     * structures. Callers must use plain default spliterators if this
+     * returns null.
+     */
+    // DIFFBLUE MODEL LIBRARY
+    // Spliterators are not modelled.
+    static <K> Spliterator<K> keySpliteratorFor(NavigableMap<K,?> m) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This method is called by CBMC just after nondeterministic object
+    // creation, i.e. the constraints that it specifies are only enforced at
+    // that time and do not have to hold globally.
+    @org.cprover.MustNotThrow
+    protected void cproverNondetInitialize() {
+        // As for HashMap, we limit the number of entries in the
+        // nondeterministically created TreeMap to at most 1, so that the
+        // table does not have to be constrained to be sorted.
+        CProver.assume(size == 0 || size == 1);
+        CProver.assume(cproverTable != null);
+        CProver.assume(cproverTable.length >= size);
+        if (size > 0) {
+            CProver.assume(cproverTable[0] != null);
+        }
+        CProver.assume(modCount == size);
+        CProver.assume(entrySet == null);
+        CProver.assume(navigableKeySet == null);
+    }
+}
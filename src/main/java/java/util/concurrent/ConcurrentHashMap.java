@@ -0,0 +1,1098 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/*
+ * This file is available under and governed by the GNU General Public
+ * License version 2 only, as published by the Free Software Foundation.
+ * However, the following notice accompanied the original version of this
+ * file:
+ *
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.cprover.CProver;
+
+/**
+ * A hash table supporting full concurrency of retrievals and
+ * high expected concurrency for updates. This class obeys the
+ * same functional specification as {@link java.util.Hashtable}, and
+ * includes versions of methods corresponding to each method of
+ * {@code Hashtable}. However, even though all operations are
+ * thread-safe, retrieval operations do <em>not</em> entail locking,
+ * and there is <em>not</em> any support for locking the entire table
+ * in a way that prevents all access.
+ *
+ * <p>Like {@link Hashtable} but unlike {@link HashMap}, this class
+ * does <em>not</em> allow {@code null} to be used as a key or value.
+ *
+ * @since 1.5
+ * @author Doug Lea
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @diffblue.limitedSupport
+ * <p>The original implementation is a lock-striped table of bins updated with
+ * {@code sun.misc.Unsafe} compare-and-swap loops, with tree bins, resizing
+ * helped by concurrent writers and counter cells. The model instead stores all
+ * mappings in a {@link HashMap} model and performs every operation on it
+ * inside a single atomic section, so the restrictions documented for the
+ * {@link HashMap} model also apply here.</p>
+ * <p>The {@code compute} and {@code merge} family of methods apply their
+ * function outside of any atomic section, and then store the result only if
+ * the mapping has not changed in the meantime, retrying otherwise. Iterators
+ * of the key, value and entry views traverse a snapshot of the mappings taken
+ * when they are created, which is one of the behaviours allowed for the weakly
+ * consistent iterators of the original implementation.</p>
+ * <p>The parallel bulk operations ({@code forEach}, {@code search} and
+ * {@code reduce} with a parallelism threshold) and spliterators are not
+ * modelled.</p>
+ */
+public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
+    implements ConcurrentMap<K,V>, Serializable {
+    private static final long serialVersionUID = 7249069246763182397L;
+
+    // DIFFBLUE MODEL LIBRARY
+    // The fields of the original implementation (table, nextTable, baseCount,
+    // sizeCtl, transferIndex, cellsBusy, counterCells and the cached views)
+    // are replaced by a single HashMap model, which is only accessed inside
+    // atomic sections.
+    private final HashMap<K,V> cproverMap;
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Creates a new, empty map with the default initial table size (16).
+     */
+    public ConcurrentHashMap() {
+        cproverMap = new HashMap<K,V>();
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size
+     * accommodating the specified number of elements without the need
+     * to dynamically resize.
+     *
+     * @param initialCapacity The implementation performs internal
+     * sizing to accommodate this many elements.
+     * @throws IllegalArgumentException if the initial capacity of
+     * elements is negative
+     */
+    public ConcurrentHashMap(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException();
+        cproverMap = new HashMap<K,V>();
+    }
+
+    /**
+     * Creates a new map with the same mappings as the given map.
+     *
+     * @param m the map
+     */
+    public ConcurrentHashMap(Map<? extends K, ? extends V> m) {
+        cproverMap = new HashMap<K,V>();
+        putAll(m);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size based on
+     * the given number of elements ({@code initialCapacity}) and
+     * initial table density ({@code loadFactor}).
+     *
+     * @param initialCapacity the initial capacity
+     * @param loadFactor the load factor (table density) for
+     * establishing the initial table size
+     * @throws IllegalArgumentException if the initial capacity of
+     * elements is negative or the load factor is nonpositive
+     *
+     * @since 1.6
+     */
+    public ConcurrentHashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, 1);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size based on
+     * the given number of elements ({@code initialCapacity}), table
+     * density ({@code loadFactor}), and number of concurrently
+     * updating threads ({@code concurrencyLevel}).
+     *
+     * @param initialCapacity the initial capacity
+     * @param loadFactor the load factor (table density) for
+     * establishing the initial table size
+     * @param concurrencyLevel the estimated number of concurrently
+     * updating threads
+     * @throws IllegalArgumentException if the initial capacity is
+     * negative or the load factor or concurrencyLevel are
+     * nonpositive
+     */
+    public ConcurrentHashMap(int initialCapacity,
+                             float loadFactor, int concurrencyLevel) {
+        if (!(loadFactor > 0.0f) || initialCapacity < 0 || concurrencyLevel <= 0)
+            throw new IllegalArgumentException();
+        cproverMap = new HashMap<K,V>();
+    }
+
+    // Original (since JDK1.2) Map methods
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size() {
+        return cproverMap.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEmpty() {
+        return cproverMap.isEmpty();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public V get(Object key) {
+        if (key == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            return cproverMap.get(key);
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * Tests if the specified object is a key in this table.
+     *
+     * @param  key possible key
+     * @return {@code true} if and only if the specified object
+     *         is a key in this table, as determined by the
+     *         {@code equals} method; {@code false} otherwise
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return {@code true} if this map maps one or more keys to the
+     *         specified value
+     * @throws NullPointerException if the specified value is null
+     */
+    public boolean containsValue(Object value) {
+        if (value == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            return cproverMap.containsValue(value);
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * Maps the specified key to the specified value in this table.
+     * Neither the key nor the value can be null.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            return cproverMap.put(key, value);
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this one.
+     * These mappings replace any mappings that this map had for any of the
+     * keys currently in the specified map.
+     *
+     * @param m mappings to be stored in this map
+     */
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for (Map.Entry<? extends K, ? extends V> e : m.entrySet())
+            put(e.getKey(), e.getValue());
+    }
+
+    /**
+     * Removes the key (and its corresponding value) from this map.
+     * This method does nothing if the key is not in the map.
+     *
+     * @param  key the key that needs to be removed
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified key is null
+     */
+    public V remove(Object key) {
+        if (key == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            return cproverMap.remove(key);
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        CProver.atomicBegin();
+        try {
+            cproverMap.clear();
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * Returns a {@link Set} view of the keys contained in this map.
+     * The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa. The set supports element
+     * removal, which removes the corresponding mapping from this map,
+     * via the {@code Iterator.remove}, {@code Set.remove},
+     * {@code removeAll}, {@code retainAll}, and {@code clear}
+     * operations.  It does not support the {@code add} or
+     * {@code addAll} operations.
+     *
+     * @return the set view
+     */
+    public KeySetView<K,V> keySet() {
+        return new KeySetView<K,V>(this, null);
+    }
+
+    /**
+     * Returns a {@link Collection} view of the values contained in this map.
+     * The collection is backed by the map, so changes to the map are
+     * reflected in the collection, and vice-versa.  The collection
+     * supports element removal, which removes the corresponding
+     * mapping from this map, via the {@code Iterator.remove},
+     * {@code Collection.remove}, {@code removeAll},
+     * {@code retainAll}, and {@code clear} operations.  It does not
+     * support the {@code add} or {@code addAll} operations.
+     *
+     * @return the collection view
+     */
+    public Collection<V> values() {
+        return new ValuesView<K,V>(this);
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     * The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  The set supports element
+     * removal, which removes the corresponding mapping from the map,
+     * via the {@code Iterator.remove}, {@code Set.remove},
+     * {@code removeAll}, {@code retainAll}, and {@code clear}
+     * operations.
+     *
+     * @return the set view
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        return new EntrySetView<K,V>(this);
+    }
+
+    // ConcurrentMap methods
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            V oldValue = cproverMap.get(key);
+            if (oldValue == null)
+                cproverMap.put(key, value);
+            return oldValue;
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean remove(Object key, Object value) {
+        if (key == null)
+            throw new NullPointerException();
+        if (value == null)
+            return false;
+        CProver.atomicBegin();
+        try {
+            V oldValue = cproverMap.get(key);
+            boolean removed = oldValue != null && value.equals(oldValue);
+            if (removed)
+                cproverMap.remove(key);
+            return removed;
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (key == null || oldValue == null || newValue == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            V v = cproverMap.get(key);
+            boolean replaced = v != null && oldValue.equals(v);
+            if (replaced)
+                cproverMap.put(key, newValue);
+            return replaced;
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V replace(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        CProver.atomicBegin();
+        try {
+            V oldValue = cproverMap.get(key);
+            if (oldValue != null)
+                cproverMap.put(key, value);
+            return oldValue;
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    // Overrides of JDK8+ Map extension method defaults
+
+    /**
+     * Returns the value to which the specified key is mapped, or the
+     * given default value if this map contains no mapping for the
+     * key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the value to return if this map contains
+     * no mapping for the given key
+     * @return the mapping for the key, if present; else the default value
+     * @throws NullPointerException if the specified key is null
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        V v;
+        return (v = get(key)) == null ? defaultValue : v;
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) throw new NullPointerException();
+        BaseIterator<K,V> it = new BaseIterator<K,V>(this);
+        while (it.hasNext()) {
+            int i = it.cproverAdvance();
+            action.accept(it.cproverKey(i), it.cproverValue(i));
+        }
+    }
+
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        if (function == null) throw new NullPointerException();
+        BaseIterator<K,V> it = new BaseIterator<K,V>(this);
+        while (it.hasNext()) {
+            int i = it.cproverAdvance();
+            K key = it.cproverKey(i);
+            V oldValue = it.cproverValue(i);
+            while (oldValue != null) {
+                V newValue = function.apply(key, oldValue);
+                if (newValue == null)
+                    throw new NullPointerException();
+                if (replace(key, oldValue, newValue))
+                    break;
+                oldValue = get(key);
+            }
+        }
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * attempts to compute its value using the given mapping function
+     * and enters it into this map unless {@code null}.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the specified key, or null if the computed value is null
+     * @throws NullPointerException if the specified key or mappingFunction
+     *         is null
+     *
+     * @diffblue.limitedSupport
+     * The function is applied outside of the atomic section, so another
+     * thread may store a value for the key in the meantime, in which case
+     * that value is returned and the computed one is discarded.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null)
+            throw new NullPointerException();
+        V v = get(key);
+        if (v != null)
+            return v;
+        V newValue = mappingFunction.apply(key);
+        if (newValue == null)
+            return null;
+        v = putIfAbsent(key, newValue);
+        return (v == null) ? newValue : v;
+    }
+
+    /**
+     * If the value for the specified key is present, attempts to
+     * compute a new mapping given the key and its current mapped
+     * value.
+     *
+     * @param key key with which a value may be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with the specified key, or null if none
+     * @throws NullPointerException if the specified key or remappingFunction
+     *         is null
+     *
+     * @diffblue.limitedSupport
+     * The function is applied outside of the atomic section, and applied
+     * again if the mapping changed before the result could be stored.
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null)
+            throw new NullPointerException();
+        for (;;) {
+            V oldValue = get(key);
+            if (oldValue == null)
+                return null;
+            V v = remappingFunction.apply(key, oldValue);
+            if (cproverCompareAndSet(key, oldValue, v))
+                return v;
+        }
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its
+     * current mapped value (or {@code null} if there is no current
+     * mapping).
+     *
+     * @param key key with which the specified value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with the specified key, or null if none
+     * @throws NullPointerException if the specified key or remappingFunction
+     *         is null
+     *
+     * @diffblue.limitedSupport
+     * The function is applied outside of the atomic section, and applied
+     * again if the mapping changed before the result could be stored.
+     */
+    public V compute(K key,
+                     BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null)
+            throw new NullPointerException();
+        for (;;) {
+            V oldValue = get(key);
+            V v = remappingFunction.apply(key, oldValue);
+            if (cproverCompareAndSet(key, oldValue, v))
+                return v;
+        }
+    }
+
+    /**
+     * If the specified key is not already associated with a
+     * (non-null) value, associates it with the given value.
+     * Otherwise, replaces the value with the results of the given
+     * remapping function, or removes if {@code null}.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value the value to use if absent
+     * @param remappingFunction the function to recompute a value if present
+     * @return the new value associated with the specified key, or null if none
+     * @throws NullPointerException if the specified key or the
+     *         remappingFunction is null
+     *
+     * @diffblue.limitedSupport
+     * The function is applied outside of the atomic section, and applied
+     * again if the mapping changed before the result could be stored.
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null)
+            throw new NullPointerException();
+        for (;;) {
+            V oldValue = get(key);
+            V v = (oldValue == null) ? value :
+                remappingFunction.apply(oldValue, value);
+            if (cproverCompareAndSet(key, oldValue, v))
+                return v;
+        }
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Maps the key to the given value, or removes it if the value is null,
+    // provided that the key is still mapped to the expected value (or still
+    // unmapped if that is null). The values are compared by reference, so no
+    // user code runs inside the atomic section apart from the hashCode and
+    // equals methods of the key.
+    private boolean cproverCompareAndSet(K key, V expect, V update) {
+        CProver.atomicBegin();
+        try {
+            if (cproverMap.get(key) != expect)
+                return false;
+            if (update != null)
+                cproverMap.put(key, update);
+            else if (expect != null)
+                cproverMap.remove(key);
+            return true;
+        } finally {
+            CProver.atomicEnd();
+        }
+    }
+
+    // Hashtable legacy methods
+
+    /**
+     * Legacy method testing if some key maps into the specified value
+     * in this table.
+     *
+     * @param  value a value to search for
+     * @return {@code true} if and only if some key maps to the
+     *         {@code value} argument in this table as
+     *         determined by the {@code equals} method;
+     *         {@code false} otherwise
+     * @throws NullPointerException if the specified value is null
+     */
+    public boolean contains(Object value) {
+        return containsValue(value);
+    }
+
+    /**
+     * Returns an enumeration of the keys in this table.
+     *
+     * @return an enumeration of the keys in this table
+     * @see #keySet()
+     */
+    public Enumeration<K> keys() {
+        return new KeyIterator<K,V>(this);
+    }
+
+    /**
+     * Returns an enumeration of the values in this table.
+     *
+     * @return an enumeration of the values in this table
+     * @see #values()
+     */
+    public Enumeration<V> elements() {
+        return new ValueIterator<K,V>(this);
+    }
+
+    // ConcurrentHashMap-only methods
+
+    /**
+     * Returns the number of mappings. This method should be used
+     * instead of {@link #size} because a ConcurrentHashMap may
+     * contain more mappings than can be represented as an int. The
+     * value returned is an estimate; the actual count may differ if
+     * there are concurrent insertions or removals.
+     *
+     * @return the number of mappings
+     * @since 1.8
+     */
+    public long mappingCount() {
+        return cproverMap.size();
+    }
+
+    /**
+     * Creates a new {@link Set} backed by a ConcurrentHashMap
+     * from the given type to {@code Boolean.TRUE}.
+     *
+     * @param <K> the element type of the returned set
+     * @return the new set
+     * @since 1.8
+     */
+    public static <K> KeySetView<K,Boolean> newKeySet() {
+        return new KeySetView<K,Boolean>
+            (new ConcurrentHashMap<K,Boolean>(), Boolean.TRUE);
+    }
+
+    /**
+     * Creates a new {@link Set} backed by a ConcurrentHashMap
+     * from the given type to {@code Boolean.TRUE}.
+     *
+     * @param initialCapacity The implementation performs internal
+     * sizing to accommodate this many elements.
+     * @param <K> the element type of the returned set
+     * @return the new set
+     * @throws IllegalArgumentException if the initial capacity of
+     * elements is negative
+     * @since 1.8
+     */
+    public static <K> KeySetView<K,Boolean> newKeySet(int initialCapacity) {
+        return new KeySetView<K,Boolean>
+            (new ConcurrentHashMap<K,Boolean>(initialCapacity), Boolean.TRUE);
+    }
+
+    /**
+     * Returns a {@link Set} view of the keys in this map, using the
+     * given common mapped value for any additions (i.e., {@link
+     * Collection#add} and {@link Collection#addAll(Collection)}).
+     * This is of course only appropriate if it is acceptable to use
+     * the same value for all additions from this view.
+     *
+     * @param mappedValue the mapped value to use for any additions
+     * @return the set view
+     * @throws NullPointerException if the mappedValue is null
+     */
+    public KeySetView<K,V> keySet(V mappedValue) {
+        if (mappedValue == null)
+            throw new NullPointerException();
+        return new KeySetView<K,V>(this, mappedValue);
+    }
+
+    /* ---------------- Iterators -------------- */
+
+    /**
+     * Exported Entry for EntryIterator
+     */
+    static final class MapEntry<K,V> implements Map.Entry<K,V> {
+        final K key; // non-null
+        V val;       // non-null
+        final ConcurrentHashMap<K,V> map;
+        MapEntry(K key, V val, ConcurrentHashMap<K,V> map) {
+            this.key = key;
+            this.val = val;
+            this.map = map;
+        }
+        public K getKey()        { return key; }
+        public V getValue()      { return val; }
+        public int hashCode()    { return key.hashCode() ^ val.hashCode(); }
+        public String toString() { return key + "=" + val; }
+
+        public boolean equals(Object o) {
+            Object k, v; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (v = e.getValue()) != null &&
+                    (k == key || k.equals(key)) &&
+                    (v == val || v.equals(val)));
+        }
+
+        /**
+         * Sets our entry's value and writes through to the map. The
+         * value to return is somewhat arbitrary here. Since we do not
+         * necessarily track asynchronous changes, the most recent
+         * "previous" value could be different from what we return (or
+         * could even have been removed, in which case the put will
+         * re-establish). We do not and cannot guarantee more.
+         */
+        public V setValue(V value) {
+            if (value == null) throw new NullPointerException();
+            V v = val;
+            val = value;
+            map.put(key, value);
+            return v;
+        }
+    }
+
+    /**
+     * Base of key, value, and entry Iterators.
+     *
+     * @diffblue.limitedSupport
+     * In the original implementation this class extends a {@code Traverser}
+     * over the bins of the table. In the model it traverses a snapshot of the
+     * mappings, taken in an atomic section when the iterator is created, so
+     * that it never throws {@link java.util.ConcurrentModificationException}.
+     */
+    static class BaseIterator<K,V> {
+        final ConcurrentHashMap<K,V> map;
+        final Object[] keys;
+        final Object[] values;
+        int index;
+        K lastReturned;
+
+        BaseIterator(ConcurrentHashMap<K,V> map) {
+            this.map = map;
+            CProver.atomicBegin();
+            try {
+                int n = map.cproverMap.size();
+                keys = new Object[n];
+                values = new Object[n];
+                int i = 0;
+                for (Map.Entry<K,V> e : map.cproverMap.entrySet()) {
+                    keys[i] = e.getKey();
+                    values[i] = e.getValue();
+                    i++;
+                }
+            } finally {
+                CProver.atomicEnd();
+            }
+        }
+
+        public final boolean hasNext() { return index < keys.length; }
+        public final boolean hasMoreElements() { return index < keys.length; }
+
+        public final void remove() {
+            K k;
+            if ((k = lastReturned) == null)
+                throw new IllegalStateException();
+            lastReturned = null;
+            map.remove(k);
+        }
+
+        // DIFFBLUE MODEL LIBRARY
+        // Moves past the next mapping of the snapshot and returns its index.
+        final int cproverAdvance() {
+            if (index >= keys.length)
+                throw new NoSuchElementException();
+            lastReturned = cproverKey(index);
+            return index++;
+        }
+
+        @SuppressWarnings("unchecked")
+        final K cproverKey(int i) { return (K) keys[i]; }
+
+        @SuppressWarnings("unchecked")
+        final V cproverValue(int i) { return (V) values[i]; }
+    }
+
+    static final class KeyIterator<K,V> extends BaseIterator<K,V>
+        implements Iterator<K>, Enumeration<K> {
+        KeyIterator(ConcurrentHashMap<K,V> map) {
+            super(map);
+        }
+
+        public final K next() {
+            return cproverKey(cproverAdvance());
+        }
+
+        public final K nextElement() { return next(); }
+    }
+
+    static final class ValueIterator<K,V> extends BaseIterator<K,V>
+        implements Iterator<V>, Enumeration<V> {
+        ValueIterator(ConcurrentHashMap<K,V> map) {
+            super(map);
+        }
+
+        public final V next() {
+            return cproverValue(cproverAdvance());
+        }
+
+        public final V nextElement() { return next(); }
+    }
+
+    static final class EntryIterator<K,V> extends BaseIterator<K,V>
+        implements Iterator<Map.Entry<K,V>> {
+        EntryIterator(ConcurrentHashMap<K,V> map) {
+            super(map);
+        }
+
+        public final Map.Entry<K,V> next() {
+            int i = cproverAdvance();
+            return new MapEntry<K,V>(cproverKey(i), cproverValue(i), map);
+        }
+    }
+
+    /* ----------------Views -------------- */
+
+    /**
+     * A view of a ConcurrentHashMap as a {@link Set} of keys, in
+     * which additions may optionally be enabled by mapping to a
+     * common value.  This class cannot be directly instantiated.
+     * See {@link #keySet() keySet()},
+     * {@link #keySet(Object) keySet(V)},
+     * {@link #newKeySet() newKeySet()},
+     * {@link #newKeySet(int) newKeySet(int)}.
+     *
+     * @since 1.8
+     *
+     * @diffblue.limitedSupport
+     * In the original implementation this class extends a package-private
+     * {@code CollectionView}. In the model it extends {@link AbstractSet} and
+     * forwards to the atomic operations of the backing map.
+     */
+    public static class KeySetView<K,V> extends AbstractSet<K>
+        implements Set<K>, java.io.Serializable {
+        private static final long serialVersionUID = 7249069246763182397L;
+        private final ConcurrentHashMap<K,V> map;
+        private final V value;
+        KeySetView(ConcurrentHashMap<K,V> map, V value) {  // non-public
+            this.map = map;
+            this.value = value;
+        }
+
+        /**
+         * Returns the map backing this view.
+         *
+         * @return the map backing this view
+         */
+        public ConcurrentHashMap<K,V> getMap() { return map; }
+
+        /**
+         * Returns the default mapped value for additions,
+         * or {@code null} if additions are not supported.
+         *
+         * @return the default mapped value for additions, or {@code null}
+         * if not supported
+         */
+        public V getMappedValue() { return value; }
+
+        public int size() { return map.size(); }
+
+        public void clear() { map.clear(); }
+
+        /**
+         * {@inheritDoc}
+         * @throws NullPointerException if the specified key is null
+         */
+        public boolean contains(Object o) { return map.containsKey(o); }
+
+        /**
+         * Removes the key from this map view, by removing the key (and its
+         * corresponding value) from the backing map.  This method does
+         * nothing if the key is not in the map.
+         *
+         * @param  o the key to be removed from the backing map
+         * @return {@code true} if the backing map contained the specified key
+         * @throws NullPointerException if the specified key is null
+         */
+        public boolean remove(Object o) { return map.remove(o) != null; }
+
+        /**
+         * @return an iterator over the keys of the backing map
+         */
+        public Iterator<K> iterator() {
+            return new KeyIterator<K,V>(map);
+        }
+
+        /**
+         * Adds the specified key to this set view by mapping the key to
+         * the default mapped value in the backing map, if defined.
+         *
+         * @param e key to be added
+         * @return {@code true} if this set changed as a result of the call
+         * @throws NullPointerException if the specified key is null
+         * @throws UnsupportedOperationException if no default mapped value
+         * for additions was provided
+         */
+        public boolean add(K e) {
+            V v;
+            if ((v = value) == null)
+                throw new UnsupportedOperationException();
+            return map.putIfAbsent(e, v) == null;
+        }
+
+        /**
+         * Adds all of the elements in the specified collection to this set,
+         * as if by calling {@link #add} on each one.
+         *
+         * @param c the elements to be inserted into this set
+         * @return {@code true} if this set changed as a result of the call
+         * @throws NullPointerException if the collection or any of its
+         * elements are {@code null}
+         * @throws UnsupportedOperationException if no default mapped value
+         * for additions was provided
+         */
+        public boolean addAll(Collection<? extends K> c) {
+            boolean added = false;
+            V v;
+            if ((v = value) == null)
+                throw new UnsupportedOperationException();
+            for (K e : c) {
+                if (map.putIfAbsent(e, v) == null)
+                    added = true;
+            }
+            return added;
+        }
+    }
+
+    /**
+     * A view of a ConcurrentHashMap as a {@link Collection} of
+     * values, in which additions are disabled. This class cannot be
+     * directly instantiated. See {@link #values()}.
+     *
+     * @diffblue.limitedSupport
+     * In the original implementation this class extends a package-private
+     * {@code CollectionView}. In the model it extends
+     * {@link AbstractCollection} and forwards to the atomic operations of the
+     * backing map.
+     */
+    static final class ValuesView<K,V> extends AbstractCollection<V>
+        implements Collection<V>, java.io.Serializable {
+        private static final long serialVersionUID = 2249069246763182397L;
+        private final ConcurrentHashMap<K,V> map;
+        ValuesView(ConcurrentHashMap<K,V> map) { this.map = map; }
+
+        public int size() { return map.size(); }
+
+        public void clear() { map.clear(); }
+
+        public final boolean contains(Object o) {
+            return map.containsValue(o);
+        }
+
+        public final boolean remove(Object o) {
+            if (o != null) {
+                for (Iterator<V> it = iterator(); it.hasNext();) {
+                    if (o.equals(it.next())) {
+                        it.remove();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public final Iterator<V> iterator() {
+            return new ValueIterator<K,V>(map);
+        }
+
+        public final boolean add(V e) {
+            throw new UnsupportedOperationException();
+        }
+        public final boolean addAll(Collection<? extends V> c) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A view of a ConcurrentHashMap as a {@link Set} of (key, value)
+     * entries.  This class cannot be directly instantiated. See
+     * {@link #entrySet()}.
+     *
+     * @diffblue.limitedSupport
+     * In the original implementation this class extends a package-private
+     * {@code CollectionView}. In the model it extends {@link AbstractSet} and
+     * forwards to the atomic operations of the backing map.
+     */
+    static final class EntrySetView<K,V> extends AbstractSet<Map.Entry<K,V>>
+        implements Set<Map.Entry<K,V>>, java.io.Serializable {
+        private static final long serialVersionUID = 2249069246763182397L;
+        private final ConcurrentHashMap<K,V> map;
+        EntrySetView(ConcurrentHashMap<K,V> map) { this.map = map; }
+
+        public int size() { return map.size(); }
+
+        public void clear() { map.clear(); }
+
+        public boolean contains(Object o) {
+            Object k, v, r; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (r = map.get(k)) != null &&
+                    (v = e.getValue()) != null &&
+                    (v == r || v.equals(r)));
+        }
+
+        public boolean remove(Object o) {
+            Object k, v; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (v = e.getValue()) != null &&
+                    map.remove(k, v));
+        }
+
+        /**
+         * @return an iterator over the entries of the backing map
+         */
+        public Iterator<Map.Entry<K,V>> iterator() {
+            return new EntryIterator<K,V>(map);
+        }
+
+        public boolean add(Map.Entry<K,V> e) {
+            return map.put(e.getKey(), e.getValue()) == null;
+        }
+
+        public boolean addAll(Collection<? extends Map.Entry<K,V>> c) {
+            boolean added = false;
+            for (Map.Entry<K,V> e : c) {
+                if (add(e))
+                    added = true;
+            }
+            return added;
+        }
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This method is called by CBMC just after nondeterministic object creation,
+    // i.e., the constraints that it specifies are enforced only on objects that
+    // are passed as an argument to a method, and only at the time when they are
+    // first created.
+    // We generally want to make sure that all necessary invariants of the class
+    // are satisfied, and potentially restrict some fields to speed up test
+    // generation.
+    @org.cprover.MustNotThrow
+    protected void cproverNondetInitialize() {
+        CProver.assume(cproverMap != null);
+        // Neither keys nor values can be null
+        CProver.assume(!cproverMap.containsKey(null));
+        CProver.assume(!cproverMap.containsValue(null));
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/*
+ * This file is available under and governed by the GNU General Public
+ * License version 2 only, as published by the Free Software Foundation.
+ * However, the following notice accompanied the original version of this
+ * file:
+ *
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent.locks;
+import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+
+import org.cprover.CProver;
+
+/**
+ * A reentrant mutual exclusion {@link Lock} with the same basic
+ * behavior and semantics as the implicit monitor lock accessed using
+ * {@code synchronized} methods and statements, but with extended
+ * capabilities.
+ *
+ * <p>A {@code ReentrantLock} is <em>owned</em> by the thread last
+ * successfully locking, but not yet unlocking it. A thread invoking
+ * {@code lock} will return, successfully acquiring the lock, when
+ * the lock is not owned by another thread. The method will return
+ * immediately if the current thread already owns the lock. This can
+ * be checked using methods {@link #isHeldByCurrentThread}, and {@link
+ * #getHoldCount}.
+ *
+ * @since 1.5
+ * @author Doug Lea
+ *
+ * @diffblue.limitedSupport
+ * <p>The original implementation relies on an
+ * {@code AbstractQueuedSynchronizer}, which spins on compare-and-swap
+ * operations and parks waiting threads in a queue. The model keeps the owner
+ * and the hold count in two fields that are only accessed inside atomic
+ * sections. A thread trying to acquire a lock held by another thread is
+ * blocked with an assumption, in the same way as
+ * {@link Object#monitorenter(Object)}.</p>
+ * <p>Fairness is recorded but does not affect the scheduling explored by
+ * JBMC. Conditions and the queue inspection methods are not modelled.</p>
+ */
+public class ReentrantLock implements Lock, java.io.Serializable {
+    private static final long serialVersionUID = 7373984872572414699L;
+
+    // DIFFBLUE MODEL LIBRARY
+    // The synchronizer is replaced by the fair, cproverOwner and
+    // cproverHoldCount fields below.
+    // /** Synchronizer providing all implementation mechanics */
+    // private final Sync sync;
+
+    // DIFFBLUE MODEL LIBRARY
+    // Fields not present in the original implementation.
+    // Whether this lock was created with a fair ordering policy.
+    private final boolean fair;
+    // Identifier of the owning thread, as given by
+    // CProver.getCurrentThreadId(). Only meaningful when cproverHoldCount > 0.
+    private int cproverOwner;
+    // Number of holds on this lock by the owning thread, 0 when unlocked.
+    private int cproverHoldCount;
+
+    /**
+     * Creates an instance of {@code ReentrantLock}.
+     * This is equivalent to using {@code ReentrantLock(false)}.
+     */
+    public ReentrantLock() {
+        // sync = new NonfairSync();
+        fair = false;
+    }
+
+    /**
+     * Creates an instance of {@code ReentrantLock} with the
+     * given fairness policy.
+     *
+     * @param fair {@code true} if this lock should use a fair ordering policy
+     */
+    public ReentrantLock(boolean fair) {
+        // sync = fair ? new FairSync() : new NonfairSync();
+        this.fair = fair;
+    }
+
+    /**
+     * Acquires the lock.
+     *
+     * <p>Acquires the lock if it is not held by another thread and returns
+     * immediately, setting the lock hold count to one.
+     *
+     * <p>If the current thread already holds the lock then the hold
+     * count is incremented by one and the method returns immediately.
+     *
+     * <p>If the lock is held by another thread then the
+     * current thread becomes disabled for thread scheduling
+     * purposes and lies dormant until the lock has been acquired,
+     * at which time the lock hold count is set to one.
+     */
+    public void lock() {
+        // sync.lock();
+        CProver.atomicBegin();
+        int thread = CProver.getCurrentThreadId();
+        // this assume blocks this execution path in JBMC and simulates
+        // the thread having to wait because the lock is not available
+        CProver.assume(cproverHoldCount == 0 || cproverOwner == thread);
+        cproverOwner = thread;
+        cproverHoldCount++;
+        CProver.atomicEnd();
+    }
+
+    /**
+     * Acquires the lock unless the current thread is
+     * {@linkplain Thread#interrupt interrupted}.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     *
+     * @diffblue.limitedSupport
+     * Interruption is not modelled, so this behaves like {@link #lock}.
+     */
+    public void lockInterruptibly() throws InterruptedException {
+        // sync.acquireInterruptibly(1);
+        lock();
+    }
+
+    /**
+     * Acquires the lock only if it is not held by another thread at the time
+     * of invocation.
+     *
+     * @return {@code true} if the lock was free and was acquired by the
+     *         current thread, or the lock was already held by the current
+     *         thread; and {@code false} otherwise
+     */
+    public boolean tryLock() {
+        // return sync.nonfairTryAcquire(1);
+        CProver.atomicBegin();
+        int thread = CProver.getCurrentThreadId();
+        boolean acquired = cproverHoldCount == 0 || cproverOwner == thread;
+        if (acquired) {
+            cproverOwner = thread;
+            cproverHoldCount++;
+        }
+        CProver.atomicEnd();
+        return acquired;
+    }
+
+    /**
+     * Acquires the lock if it is not held by another thread within the given
+     * waiting time and the current thread has not been
+     * {@linkplain Thread#interrupt interrupted}.
+     *
+     * @param timeout the time to wait for the lock
+     * @param unit the time unit of the timeout argument
+     * @return {@code true} if the lock was free and was acquired by the
+     *         current thread, or the lock was already held by the current
+     *         thread; and {@code false} if the waiting time elapsed before
+     *         the lock could be acquired
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws NullPointerException if the time unit is null
+     *
+     * @diffblue.limitedSupport
+     * Time is not modelled: the lock is acquired if it is available at the
+     * time of the call, otherwise the waiting time is considered elapsed.
+     * Interruption is not modelled.
+     */
+    public boolean tryLock(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        // return sync.tryAcquireNanos(1, unit.toNanos(timeout));
+        if (unit == null)
+            throw new NullPointerException();
+        return tryLock();
+    }
+
+    /**
+     * Attempts to release this lock.
+     *
+     * <p>If the current thread is the holder of this lock then the hold
+     * count is decremented.  If the hold count is now zero then the lock
+     * is released.  If the current thread is not the holder of this
+     * lock then {@link IllegalMonitorStateException} is thrown.
+     *
+     * @throws IllegalMonitorStateException if the current thread does not
+     *         hold this lock
+     */
+    public void unlock() {
+        // sync.release(1);
+        CProver.atomicBegin();
+        boolean held = cproverHoldCount > 0 &&
+            cproverOwner == CProver.getCurrentThreadId();
+        if (held)
+            cproverHoldCount--;
+        CProver.atomicEnd();
+        if (!held)
+            throw new IllegalMonitorStateException();
+    }
+
+    /**
+     * Returns a {@link Condition} instance for use with this
+     * {@link Lock} instance.
+     *
+     * @return the Condition object
+     *
+     * @diffblue.noSupport
+     */
+    public Condition newCondition() {
+        // return sync.newCondition();
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * Queries the number of holds on this lock by the current thread.
+     *
+     * @return the number of holds on this lock by the current thread,
+     *         or zero if this lock is not held by the current thread
+     */
+    public int getHoldCount() {
+        // return sync.getHoldCount();
+        CProver.atomicBegin();
+        int count = cproverOwner == CProver.getCurrentThreadId() ?
+            cproverHoldCount : 0;
+        CProver.atomicEnd();
+        return count;
+    }
+
+    /**
+     * Queries if this lock is held by the current thread.
+     *
+     * @return {@code true} if current thread holds this lock and
+     *         {@code false} otherwise
+     */
+    public boolean isHeldByCurrentThread() {
+        // return sync.isHeldExclusively();
+        return getHoldCount() > 0;
+    }
+
+    /**
+     * Queries if this lock is held by any thread. This method is
+     * designed for use in monitoring of the system state,
+     * not for synchronization control.
+     *
+     * @return {@code true} if any thread holds this lock and
+     *         {@code false} otherwise
+     */
+    public boolean isLocked() {
+        // return sync.isLocked();
+        return cproverHoldCount != 0;
+    }
+
+    /**
+     * Returns {@code true} if this lock has fairness set true.
+     *
+     * @return {@code true} if this lock has fairness set true
+     */
+    public final boolean isFair() {
+        // return sync instanceof FairSync;
+        return fair;
+    }
+
+    /**
+     * Returns the thread that currently owns this lock, or
+     * {@code null} if not owned.
+     *
+     * @return the owner, or {@code null} if not owned
+     *
+     * @diffblue.noSupport
+     */
+    protected Thread getOwner() {
+        // return sync.getOwner();
+        CProver.notModelled();
+        return CProver.nondetWithNullForNotModelled();
+    }
+
+    /**
+     * Queries whether any threads are waiting to acquire this lock.
+     *
+     * @return {@code true} if there may be other threads waiting to
+     *         acquire the lock
+     *
+     * @diffblue.noSupport
+     */
+    public final boolean hasQueuedThreads() {
+        // return sync.hasQueuedThreads();
+        CProver.notModelled();
+        return CProver.nondetBoolean();
+    }
+
+    /**
+     * Queries whether the given thread is waiting to acquire this
+     * lock.
+     *
+     * @param thread the thread
+     * @return {@code true} if the given thread is queued waiting for this lock
+     * @throws NullPointerException if the thread is null
+     *
+     * @diffblue.noSupport
+     */
+    public final boolean hasQueuedThread(Thread thread) {
+        // return sync.isQueued(thread);
+        CProver.notModelled();
+        return CProver.nondetBoolean();
+    }
+
+    /**
+     * Returns an estimate of the number of threads waiting to
+     * acquire this lock.
+     *
+     * @return the estimated number of threads waiting for this lock
+     *
+     * @diffblue.noSupport
+     */
+    public final int getQueueLength() {
+        // return sync.getQueueLength();
+        CProver.notModelled();
+        return CProver.nondetInt();
+    }
+
+    /**
+     * Returns a collection containing threads that may be waiting to
+     * acquire this lock.
+     *
+     * @return the collection of threads
+     *
+     * @diffblue.noSupport
+     */
+    protected Collection<Thread> getQueuedThreads() {
+        // return sync.getQueuedThreads();
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * Queries whether any threads are waiting on the given condition
+     * associated with this lock.
+     *
+     * @param condition the condition
+     * @return {@code true} if there are any waiting threads
+     *
+     * @diffblue.noSupport
+     */
+    public boolean hasWaiters(Condition condition) {
+        CProver.notModelled();
+        return CProver.nondetBoolean();
+    }
+
+    /**
+     * Returns an estimate of the number of threads waiting on the
+     * given condition associated with this lock.
+     *
+     * @param condition the condition
+     * @return the estimated number of waiting threads
+     *
+     * @diffblue.noSupport
+     */
+    public int getWaitQueueLength(Condition condition) {
+        CProver.notModelled();
+        return CProver.nondetInt();
+    }
+
+    /**
+     * Returns a collection containing those threads that may be
+     * waiting on the given condition associated with this lock.
+     *
+     * @param condition the condition
+     * @return the collection of threads
+     *
+     * @diffblue.noSupport
+     */
+    protected Collection<Thread> getWaitingThreads(Condition condition) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * Returns a string identifying this lock, as well as its lock state.
+     * The state, in brackets, includes either the String {@code "Unlocked"}
+     * or the String {@code "Locked by"} followed by the
+     * {@linkplain Thread#getName name} of the owning thread.
+     *
+     * @return a string identifying this lock, as well as its lock state
+     *
+     * @diffblue.limitedSupport
+     * The name of the owning thread is not known in the model, so a locked
+     * lock is only described as {@code "Locked"}.
+     */
+    public String toString() {
+        // Thread o = sync.getOwner();
+        // return super.toString() + ((o == null) ?
+        //                            "[Unlocked]" :
+        //                            "[Locked by thread " + o.getName() + "]");
+        return super.toString() + (cproverHoldCount == 0 ?
+                                   "[Unlocked]" :
+                                   "[Locked]");
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // This method is called by CBMC just after nondeterministic object creation,
+    // i.e., the constraints that it specifies are enforced only on objects that
+    // are passed as an argument to a method, and only at the time when they are
+    // first created.
+    // We generally want to make sure that all necessary invariants of the class
+    // are satisfied, and potentially restrict some fields to speed up test
+    // generation.
+    @org.cprover.MustNotThrow
+    protected void cproverNondetInitialize() {
+        CProver.assume(cproverHoldCount >= 0);
+        // Thread identifiers are non-negative, and the owner of an unlocked
+        // lock is irrelevant, so we fix it to avoid equivalent objects
+        CProver.assume(cproverOwner >= 0);
+        if (cproverHoldCount == 0) {
+            CProver.assume(cproverOwner == 0);
+        }
+    }
+}
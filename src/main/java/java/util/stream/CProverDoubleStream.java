@@ -0,0 +1,631 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import org.cprover.CProver;
+
+/**
+ * A {@link DoubleStream} obtained by {@link CProverStream#mapToDouble},
+ * whose stages are evaluated in the same single loop over the source array
+ * as the stages of the reference stream it comes from.
+ *
+ * <p>This class is not present in the jdk. See {@link CProverStream}.
+ *
+ * @diffblue.limitedSupport
+ * <ul>
+ * <li>{@code sorted} and {@code distinct} evaluate the pipeline up to that
+ *     point into an array and start a new pipeline from it.</li>
+ * <li>{@code mapToInt}, {@code mapToLong}, {@code flatMap},
+ *     {@code iterator} and {@code spliterator} are not modelled.</li>
+ * </ul>
+ */
+final class CProverDoubleStream implements DoubleStream {
+
+    // Kinds of stages
+    private static final int MAP_TO_DOUBLE = 0;
+    private static final int FILTER = 1;
+    private static final int MAP = 2;
+    private static final int PEEK = 3;
+    private static final int SKIP = 4;
+    private static final int LIMIT = 5;
+
+    // The source stage of the pipeline, shared with the reference stream.
+    final CProverStream<?> cproverHead;
+
+    // The previous stage: the reference stream for the MAP_TO_DOUBLE stage,
+    // and a double stream for the other stages.
+    private final CProverStream<?> cproverObjUpstream;
+    private final CProverDoubleStream cproverDoubleUpstream;
+
+    // One of the stage kinds above.
+    private final int cproverKind;
+
+    // The ToDoubleFunction, DoublePredicate, DoubleUnaryOperator or
+    // DoubleConsumer applied by a MAP_TO_DOUBLE, FILTER, MAP or PEEK stage.
+    private final Object cproverOperation;
+
+    // The argument of a SKIP or LIMIT stage, and the number of elements that
+    // reached that stage so far.
+    private final long cproverBound;
+    private long cproverCount;
+
+    // Set once this stage has been used by an intermediate or terminal
+    // operation, since a stream can only be operated upon once.
+    private boolean cproverLinkedOrConsumed;
+
+    CProverDoubleStream(CProverStream<?> upstream,
+                        ToDoubleFunction<?> mapper) {
+        cproverHead = upstream.cproverHead;
+        cproverObjUpstream = upstream;
+        cproverDoubleUpstream = null;
+        cproverKind = MAP_TO_DOUBLE;
+        cproverOperation = mapper;
+        cproverBound = 0L;
+    }
+
+    private CProverDoubleStream(CProverDoubleStream upstream, int kind,
+                                Object operation, long bound) {
+        cproverHead = upstream.cproverHead;
+        cproverObjUpstream = null;
+        cproverDoubleUpstream = upstream;
+        cproverKind = kind;
+        cproverOperation = operation;
+        cproverBound = bound;
+    }
+
+    // Marks this stage as used, throwing an IllegalStateException if it was
+    // already used.
+    void cproverLink() {
+        if (cproverLinkedOrConsumed)
+            throw new IllegalStateException();
+        cproverLinkedOrConsumed = true;
+    }
+
+    private CProverDoubleStream cproverAppend(int kind, Object operation,
+                                              long bound) {
+        cproverLink();
+        return new CProverDoubleStream(this, kind, operation, bound);
+    }
+
+    // Applies the stages from the source up to this one to a source element
+    // and returns the result. If one of the stages drops the element,
+    // cproverHead.cproverDropped is set and the result is meaningless.
+    @SuppressWarnings("unchecked")
+    double cproverEvaluate(Object element) {
+        CProverStream<?> head = cproverHead;
+        if (cproverKind == MAP_TO_DOUBLE) {
+            Object x = cproverObjUpstream.cproverEvaluate(element);
+            if (head.cproverDropped)
+                return 0;
+            return ((ToDoubleFunction<Object>) cproverOperation)
+                .applyAsDouble(x);
+        }
+        double x = cproverDoubleUpstream.cproverEvaluate(element);
+        if (head.cproverDropped)
+            return x;
+        switch (cproverKind) {
+            case FILTER:
+                if (!((DoublePredicate) cproverOperation).test(x))
+                    head.cproverDropped = true;
+                return x;
+            case MAP:
+                return ((DoubleUnaryOperator) cproverOperation)
+                    .applyAsDouble(x);
+            case PEEK:
+                ((DoubleConsumer) cproverOperation).accept(x);
+                return x;
+            case SKIP:
+                if (cproverCount < cproverBound) {
+                    cproverCount++;
+                    head.cproverDropped = true;
+                }
+                return x;
+            default: // LIMIT
+                cproverCount++;
+                if (cproverCount >= cproverBound)
+                    head.cproverExhausted = true;
+                return x;
+        }
+    }
+
+    // Evaluates the pipeline into a new array whose length is the number of
+    // elements of the stream.
+    // The array initially has room for all the source elements, or for 16
+    // elements when their number is not known, and only grows in the latter
+    // case.
+    private double[] cproverToArray() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        double[] elements = new double[head.cproverData != null ? size : 16];
+        int n = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped) {
+                if (n == elements.length) {
+                    double[] grown = new double[2 * n];
+                    for (int i = 0; i < n; i++)
+                        grown[i] = elements[i];
+                    elements = grown;
+                }
+                elements[n++] = x;
+            }
+        }
+        if (n == elements.length)
+            return elements;
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++)
+            result[i] = elements[i];
+        return result;
+    }
+
+    // Starts a new double pipeline over the given elements, which keeps the
+    // parallel flag and the close handlers of this one.
+    private DoubleStream cproverRestart(double[] elements, int n) {
+        Object[] boxed = new Object[n];
+        for (int i = 0; i < n; i++)
+            boxed[i] = elements[i];
+        return cproverRestartObj(boxed).mapToDouble(x -> (Double) x);
+    }
+
+    private <T> CProverStream<T> cproverRestartObj(Object[] elements) {
+        CProverStream<T> result = (CProverStream<T>)
+            CProverStream.<T>cproverOf(elements, elements.length);
+        CProverStream<?> head = cproverHead;
+        result.cproverParallel = head.cproverParallel;
+        result.cproverCloseHandlers = head.cproverCloseHandlers;
+        return result;
+    }
+
+    // Intermediate operations
+
+    public DoubleStream filter(DoublePredicate predicate) {
+        if (predicate == null)
+            throw new NullPointerException();
+        return cproverAppend(FILTER, predicate, 0L);
+    }
+
+    public DoubleStream map(DoubleUnaryOperator mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        return cproverAppend(MAP, mapper, 0L);
+    }
+
+    public <U> Stream<U> mapToObj(DoubleFunction<? extends U> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        cproverLink();
+        return new CProverStream<U>(this, mapper);
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public IntStream mapToInt(DoubleToIntFunction mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public LongStream mapToLong(DoubleToLongFunction mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public DoubleStream flatMap(DoubleFunction<? extends DoubleStream> mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    // The jdk removes the duplicates of the boxed stream, so values are
+    // compared as by Double.equals.
+    public DoubleStream distinct() {
+        double[] elements = cproverToArray();
+        double[] result = new double[elements.length];
+        int n = 0;
+        for (int i = 0; i < elements.length; i++) {
+            double x = elements[i];
+            boolean seen = false;
+            for (int j = 0; j < n && !seen; j++)
+                seen = Double.compare(result[j], x) == 0;
+            if (!seen)
+                result[n++] = x;
+        }
+        return cproverRestart(result, n);
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Insertion sort, which has the fewest branches per element for the
+    // small arrays that occur in the analysis. As in Arrays.sort, -0.0 is
+    // ordered before 0.0 and NaN after all other values.
+    public DoubleStream sorted() {
+        double[] elements = cproverToArray();
+        for (int i = 1; i < elements.length; i++) {
+            double x = elements[i];
+            int j = i - 1;
+            while (j >= 0 && Double.compare(elements[j], x) > 0) {
+                elements[j + 1] = elements[j];
+                j--;
+            }
+            elements[j + 1] = x;
+        }
+        return cproverRestart(elements, elements.length);
+    }
+
+    public DoubleStream peek(DoubleConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        return cproverAppend(PEEK, action, 0L);
+    }
+
+    public DoubleStream limit(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException();
+        CProverDoubleStream result = cproverAppend(LIMIT, null, maxSize);
+        if (maxSize == 0)
+            cproverHead.cproverExhausted = true;
+        return result;
+    }
+
+    public DoubleStream skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException();
+        if (n == 0)
+            return this;
+        return cproverAppend(SKIP, null, n);
+    }
+
+    public Stream<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    // Terminal operations
+
+    public void forEach(DoubleConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                action.accept(x);
+        }
+    }
+
+    public void forEachOrdered(DoubleConsumer action) {
+        forEach(action);
+    }
+
+    public double[] toArray() {
+        return cproverToArray();
+    }
+
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        if (op == null)
+            throw new NullPointerException();
+        cproverLink();
+        int size = cproverHead.cproverSize;
+        int split = cproverSplitPoint();
+        double result = cproverReduceRange(identity, op, split);
+        if (split < size)
+            result = op.applyAsDouble(result,
+                                   cproverReduceRange(identity, op, size));
+        return result;
+    }
+
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        if (op == null)
+            throw new NullPointerException();
+        cproverLink();
+        int size = cproverHead.cproverSize;
+        int split = cproverSplitPoint();
+        OptionalDouble result = cproverReduceRange(op, split);
+        if (split < size) {
+            OptionalDouble right = cproverReduceRange(op, size);
+            if (!result.isPresent())
+                result = right;
+            else if (right.isPresent())
+                result = OptionalDouble.of(
+                    op.applyAsDouble(result.getAsDouble(),
+                                     right.getAsDouble()));
+        }
+        return result;
+    }
+
+    public <R> R collect(Supplier<R> supplier,
+                         ObjDoubleConsumer<R> accumulator,
+                         BiConsumer<R, R> combiner) {
+        if (supplier == null || accumulator == null || combiner == null)
+            throw new NullPointerException();
+        cproverLink();
+        int size = cproverHead.cproverSize;
+        int split = cproverSplitPoint();
+        R container = supplier.get();
+        cproverCollectRange(container, accumulator, split);
+        if (split < size) {
+            R right = supplier.get();
+            cproverCollectRange(right, accumulator, size);
+            combiner.accept(container, right);
+        }
+        return container;
+    }
+
+    // Returns the index at which the source elements are split between two
+    // partial results by the reduce and collect operations.
+    // See CProverStream.cproverSplitPoint.
+    private int cproverSplitPoint() {
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        if (CProverStream.cproverSplitParallel && head.cproverParallel
+                && head.cproverData != null)
+            return size >>> 1;
+        return size;
+    }
+
+    // Reduces the elements of the stream that were not evaluated yet and
+    // whose source index is below to.
+    private double cproverReduceRange(double identity,
+                                      DoubleBinaryOperator op, int to) {
+        CProverStream<?> head = cproverHead;
+        double result = identity;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                result = op.applyAsDouble(result, x);
+        }
+        return result;
+    }
+
+    private OptionalDouble cproverReduceRange(DoubleBinaryOperator op,
+                                              int to) {
+        CProverStream<?> head = cproverHead;
+        boolean foundAny = false;
+        double result = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped) {
+                if (foundAny) {
+                    result = op.applyAsDouble(result, x);
+                } else {
+                    foundAny = true;
+                    result = x;
+                }
+            }
+        }
+        return foundAny ? OptionalDouble.of(result) : OptionalDouble.empty();
+    }
+
+    private <R> void cproverCollectRange(R container,
+                                         ObjDoubleConsumer<R> accumulator,
+                                         int to) {
+        CProverStream<?> head = cproverHead;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                accumulator.accept(container, x);
+        }
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // As in the jdk, the sum is computed with compensated summation, in the
+    // first two elements of the array, and the simple sum in the last one
+    // gives the sign of an infinite result.
+    public double sum() {
+        double[] summation = collect(() -> new double[3],
+                                     (ll, d) -> {
+                                         cproverSumWithCompensation(ll, d);
+                                         ll[2] += d;
+                                     },
+                                     (ll, rr) -> {
+                                         cproverSumWithCompensation(ll, rr[0]);
+                                         cproverSumWithCompensation(ll, rr[1]);
+                                         ll[2] += rr[2];
+                                     });
+        return cproverComputeFinalSum(summation);
+    }
+
+    // Copy of Collectors.sumWithCompensation, adding value to the
+    // compensated sum held in the first two elements of intermediateSum.
+    private static void cproverSumWithCompensation(double[] intermediateSum,
+                                                   double value) {
+        double tmp = value - intermediateSum[1];
+        double sum = intermediateSum[0];
+        double velvel = sum + tmp; // Little wolf of rounding error
+        intermediateSum[1] = (velvel - sum) - tmp;
+        intermediateSum[0] = velvel;
+    }
+
+    // Copy of Collectors.computeFinalSum.
+    private static double cproverComputeFinalSum(double[] summands) {
+        double tmp = summands[0] + summands[1];
+        double simpleSum = summands[summands.length - 1];
+        if (Double.isNaN(tmp) && Double.isInfinite(simpleSum))
+            return simpleSum;
+        else
+            return tmp;
+    }
+
+    public OptionalDouble min() {
+        return reduce(Math::min);
+    }
+
+    public OptionalDouble max() {
+        return reduce(Math::max);
+    }
+
+    public long count() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        long count = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                count++;
+        }
+        return count;
+    }
+
+    public OptionalDouble average() {
+        // Index 2 holds the number of values and index 3 the simple sum.
+        double[] avg = collect(() -> new double[4],
+                               (ll, d) -> {
+                                   ll[2]++;
+                                   cproverSumWithCompensation(ll, d);
+                                   ll[3] += d;
+                               },
+                               (ll, rr) -> {
+                                   cproverSumWithCompensation(ll, rr[0]);
+                                   cproverSumWithCompensation(ll, rr[1]);
+                                   ll[2] += rr[2];
+                                   ll[3] += rr[3];
+                               });
+        return avg[2] > 0
+            ? OptionalDouble.of(cproverComputeFinalSum(avg) / avg[2])
+            : OptionalDouble.empty();
+    }
+
+    public DoubleSummaryStatistics summaryStatistics() {
+        return collect(DoubleSummaryStatistics::new,
+                       DoubleSummaryStatistics::accept,
+                       DoubleSummaryStatistics::combine);
+    }
+
+    // Returns true if some element x of the stream satisfies
+    // predicate.test(x) == expected, stopping at the first such element.
+    private boolean cproverFindMatch(DoublePredicate predicate,
+                                     boolean expected) {
+        if (predicate == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        boolean found = false;
+        while (!found && !head.cproverExhausted && head.cproverHasNext(size)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                found = predicate.test(x) == expected;
+        }
+        return found;
+    }
+
+    public boolean anyMatch(DoublePredicate predicate) {
+        return cproverFindMatch(predicate, true);
+    }
+
+    public boolean allMatch(DoublePredicate predicate) {
+        return !cproverFindMatch(predicate, false);
+    }
+
+    public boolean noneMatch(DoublePredicate predicate) {
+        return !cproverFindMatch(predicate, true);
+    }
+
+    public OptionalDouble findFirst() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            double x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                return OptionalDouble.of(x);
+        }
+        return OptionalDouble.empty();
+    }
+
+    public OptionalDouble findAny() {
+        return findFirst();
+    }
+
+    // BaseStream
+
+    /**
+     * @diffblue.noSupport
+     */
+    public PrimitiveIterator.OfDouble iterator() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public Spliterator.OfDouble spliterator() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    public boolean isParallel() {
+        return cproverHead.cproverParallel;
+    }
+
+    public DoubleStream sequential() {
+        cproverHead.cproverParallel = false;
+        return this;
+    }
+
+    public DoubleStream parallel() {
+        cproverHead.cproverParallel = true;
+        return this;
+    }
+
+    public DoubleStream unordered() {
+        return this;
+    }
+
+    public DoubleStream onClose(Runnable closeHandler) {
+        cproverHead.cproverAddCloseHandler(closeHandler);
+        return this;
+    }
+
+    public void close() {
+        cproverLinkedOrConsumed = true;
+        cproverHead.cproverRunCloseHandlers();
+    }
+}
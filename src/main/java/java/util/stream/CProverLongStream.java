@@ -0,0 +1,597 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.LongSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.cprover.CProver;
+
+/**
+ * A {@link LongStream} obtained by {@link CProverStream#mapToLong}, whose
+ * stages are evaluated in the same single loop over the source array as the
+ * stages of the reference stream it comes from.
+ *
+ * <p>This class is not present in the jdk. See {@link CProverStream}.
+ *
+ * @diffblue.limitedSupport
+ * <ul>
+ * <li>{@code sorted} and {@code distinct} evaluate the pipeline up to that
+ *     point into an array and start a new pipeline from it.</li>
+ * <li>{@code mapToInt}, {@code mapToDouble}, {@code asDoubleStream},
+ *     {@code flatMap}, {@code iterator} and {@code spliterator} are not
+ *     modelled.</li>
+ * </ul>
+ */
+final class CProverLongStream implements LongStream {
+
+    // Kinds of stages
+    private static final int MAP_TO_LONG = 0;
+    private static final int FILTER = 1;
+    private static final int MAP = 2;
+    private static final int PEEK = 3;
+    private static final int SKIP = 4;
+    private static final int LIMIT = 5;
+
+    // The source stage of the pipeline, shared with the reference stream.
+    final CProverStream<?> cproverHead;
+
+    // The previous stage: the reference stream for the MAP_TO_LONG stage,
+    // and a long stream for the other stages.
+    private final CProverStream<?> cproverObjUpstream;
+    private final CProverLongStream cproverLongUpstream;
+
+    // One of the stage kinds above.
+    private final int cproverKind;
+
+    // The ToLongFunction, LongPredicate, LongUnaryOperator or LongConsumer
+    // applied by a MAP_TO_LONG, FILTER, MAP or PEEK stage.
+    private final Object cproverOperation;
+
+    // The argument of a SKIP or LIMIT stage, and the number of elements that
+    // reached that stage so far.
+    private final long cproverBound;
+    private long cproverCount;
+
+    // Set once this stage has been used by an intermediate or terminal
+    // operation, since a stream can only be operated upon once.
+    private boolean cproverLinkedOrConsumed;
+
+    CProverLongStream(CProverStream<?> upstream, ToLongFunction<?> mapper) {
+        cproverHead = upstream.cproverHead;
+        cproverObjUpstream = upstream;
+        cproverLongUpstream = null;
+        cproverKind = MAP_TO_LONG;
+        cproverOperation = mapper;
+        cproverBound = 0L;
+    }
+
+    private CProverLongStream(CProverLongStream upstream, int kind,
+                              Object operation, long bound) {
+        cproverHead = upstream.cproverHead;
+        cproverObjUpstream = null;
+        cproverLongUpstream = upstream;
+        cproverKind = kind;
+        cproverOperation = operation;
+        cproverBound = bound;
+    }
+
+    // Marks this stage as used, throwing an IllegalStateException if it was
+    // already used.
+    void cproverLink() {
+        if (cproverLinkedOrConsumed)
+            throw new IllegalStateException();
+        cproverLinkedOrConsumed = true;
+    }
+
+    private CProverLongStream cproverAppend(int kind, Object operation,
+                                            long bound) {
+        cproverLink();
+        return new CProverLongStream(this, kind, operation, bound);
+    }
+
+    // Applies the stages from the source up to this one to a source element
+    // and returns the result. If one of the stages drops the element,
+    // cproverHead.cproverDropped is set and the result is meaningless.
+    @SuppressWarnings("unchecked")
+    long cproverEvaluate(Object element) {
+        CProverStream<?> head = cproverHead;
+        if (cproverKind == MAP_TO_LONG) {
+            Object x = cproverObjUpstream.cproverEvaluate(element);
+            if (head.cproverDropped)
+                return 0;
+            return ((ToLongFunction<Object>) cproverOperation).applyAsLong(x);
+        }
+        long x = cproverLongUpstream.cproverEvaluate(element);
+        if (head.cproverDropped)
+            return x;
+        switch (cproverKind) {
+            case FILTER:
+                if (!((LongPredicate) cproverOperation).test(x))
+                    head.cproverDropped = true;
+                return x;
+            case MAP:
+                return ((LongUnaryOperator) cproverOperation).applyAsLong(x);
+            case PEEK:
+                ((LongConsumer) cproverOperation).accept(x);
+                return x;
+            case SKIP:
+                if (cproverCount < cproverBound) {
+                    cproverCount++;
+                    head.cproverDropped = true;
+                }
+                return x;
+            default: // LIMIT
+                cproverCount++;
+                if (cproverCount >= cproverBound)
+                    head.cproverExhausted = true;
+                return x;
+        }
+    }
+
+    // Evaluates the pipeline into a new array whose length is the number of
+    // elements of the stream.
+    // The array initially has room for all the source elements, or for 16
+    // elements when their number is not known, and only grows in the latter
+    // case.
+    private long[] cproverToArray() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        long[] elements = new long[head.cproverData != null ? size : 16];
+        int n = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped) {
+                if (n == elements.length) {
+                    long[] grown = new long[2 * n];
+                    for (int i = 0; i < n; i++)
+                        grown[i] = elements[i];
+                    elements = grown;
+                }
+                elements[n++] = x;
+            }
+        }
+        if (n == elements.length)
+            return elements;
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++)
+            result[i] = elements[i];
+        return result;
+    }
+
+    // Starts a new long pipeline over the given elements, which keeps the
+    // parallel flag and the close handlers of this one.
+    private LongStream cproverRestart(long[] elements, int n) {
+        Object[] boxed = new Object[n];
+        for (int i = 0; i < n; i++)
+            boxed[i] = elements[i];
+        return cproverRestartObj(boxed).mapToLong(x -> (Long) x);
+    }
+
+    private <T> CProverStream<T> cproverRestartObj(Object[] elements) {
+        CProverStream<T> result = (CProverStream<T>)
+            CProverStream.<T>cproverOf(elements, elements.length);
+        CProverStream<?> head = cproverHead;
+        result.cproverParallel = head.cproverParallel;
+        result.cproverCloseHandlers = head.cproverCloseHandlers;
+        return result;
+    }
+
+    // Intermediate operations
+
+    public LongStream filter(LongPredicate predicate) {
+        if (predicate == null)
+            throw new NullPointerException();
+        return cproverAppend(FILTER, predicate, 0L);
+    }
+
+    public LongStream map(LongUnaryOperator mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        return cproverAppend(MAP, mapper, 0L);
+    }
+
+    public <U> Stream<U> mapToObj(LongFunction<? extends U> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        cproverLink();
+        return new CProverStream<U>(this, mapper);
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public IntStream mapToInt(LongToIntFunction mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public DoubleStream mapToDouble(LongToDoubleFunction mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public LongStream flatMap(LongFunction<? extends LongStream> mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    public LongStream distinct() {
+        long[] elements = cproverToArray();
+        long[] result = new long[elements.length];
+        int n = 0;
+        for (int i = 0; i < elements.length; i++) {
+            long x = elements[i];
+            boolean seen = false;
+            for (int j = 0; j < n && !seen; j++)
+                seen = result[j] == x;
+            if (!seen)
+                result[n++] = x;
+        }
+        return cproverRestart(result, n);
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // Insertion sort, which has the fewest branches per element for the
+    // small arrays that occur in the analysis.
+    public LongStream sorted() {
+        long[] elements = cproverToArray();
+        for (int i = 1; i < elements.length; i++) {
+            long x = elements[i];
+            int j = i - 1;
+            while (j >= 0 && elements[j] > x) {
+                elements[j + 1] = elements[j];
+                j--;
+            }
+            elements[j + 1] = x;
+        }
+        return cproverRestart(elements, elements.length);
+    }
+
+    public LongStream peek(LongConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        return cproverAppend(PEEK, action, 0L);
+    }
+
+    public LongStream limit(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException();
+        CProverLongStream result = cproverAppend(LIMIT, null, maxSize);
+        if (maxSize == 0)
+            cproverHead.cproverExhausted = true;
+        return result;
+    }
+
+    public LongStream skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException();
+        if (n == 0)
+            return this;
+        return cproverAppend(SKIP, null, n);
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public DoubleStream asDoubleStream() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    public Stream<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    // Terminal operations
+
+    public void forEach(LongConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                action.accept(x);
+        }
+    }
+
+    public void forEachOrdered(LongConsumer action) {
+        forEach(action);
+    }
+
+    public long[] toArray() {
+        return cproverToArray();
+    }
+
+    public long reduce(long identity, LongBinaryOperator op) {
+        if (op == null)
+            throw new NullPointerException();
+        cproverLink();
+        int size = cproverHead.cproverSize;
+        int split = cproverSplitPoint();
+        long result = cproverReduceRange(identity, op, split);
+        if (split < size)
+            result = op.applyAsLong(result,
+                                   cproverReduceRange(identity, op, size));
+        return result;
+    }
+
+    public OptionalLong reduce(LongBinaryOperator op) {
+        if (op == null)
+            throw new NullPointerException();
+        cproverLink();
+        int size = cproverHead.cproverSize;
+        int split = cproverSplitPoint();
+        OptionalLong result = cproverReduceRange(op, split);
+        if (split < size) {
+            OptionalLong right = cproverReduceRange(op, size);
+            if (!result.isPresent())
+                result = right;
+            else if (right.isPresent())
+                result = OptionalLong.of(
+                    op.applyAsLong(result.getAsLong(), right.getAsLong()));
+        }
+        return result;
+    }
+
+    public <R> R collect(Supplier<R> supplier,
+                         ObjLongConsumer<R> accumulator,
+                         BiConsumer<R, R> combiner) {
+        if (supplier == null || accumulator == null || combiner == null)
+            throw new NullPointerException();
+        cproverLink();
+        int size = cproverHead.cproverSize;
+        int split = cproverSplitPoint();
+        R container = supplier.get();
+        cproverCollectRange(container, accumulator, split);
+        if (split < size) {
+            R right = supplier.get();
+            cproverCollectRange(right, accumulator, size);
+            combiner.accept(container, right);
+        }
+        return container;
+    }
+
+    // Returns the index at which the source elements are split between two
+    // partial results by the reduce and collect operations.
+    // See CProverStream.cproverSplitPoint.
+    private int cproverSplitPoint() {
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        if (CProverStream.cproverSplitParallel && head.cproverParallel
+                && head.cproverData != null)
+            return size >>> 1;
+        return size;
+    }
+
+    // Reduces the elements of the stream that were not evaluated yet and
+    // whose source index is below to.
+    private long cproverReduceRange(long identity, LongBinaryOperator op,
+                                   int to) {
+        CProverStream<?> head = cproverHead;
+        long result = identity;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                result = op.applyAsLong(result, x);
+        }
+        return result;
+    }
+
+    private OptionalLong cproverReduceRange(LongBinaryOperator op, int to) {
+        CProverStream<?> head = cproverHead;
+        boolean foundAny = false;
+        long result = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped) {
+                if (foundAny) {
+                    result = op.applyAsLong(result, x);
+                } else {
+                    foundAny = true;
+                    result = x;
+                }
+            }
+        }
+        return foundAny ? OptionalLong.of(result) : OptionalLong.empty();
+    }
+
+    private <R> void cproverCollectRange(R container,
+                                         ObjLongConsumer<R> accumulator,
+                                         int to) {
+        CProverStream<?> head = cproverHead;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                accumulator.accept(container, x);
+        }
+    }
+
+    public long sum() {
+        return reduce(0, Long::sum);
+    }
+
+    public OptionalLong min() {
+        return reduce(Math::min);
+    }
+
+    public OptionalLong max() {
+        return reduce(Math::max);
+    }
+
+    public long count() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        long count = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                count++;
+        }
+        return count;
+    }
+
+    public OptionalDouble average() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        long count = 0;
+        long sum = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped) {
+                count++;
+                sum += x;
+            }
+        }
+        return count > 0
+            ? OptionalDouble.of((double) sum / count)
+            : OptionalDouble.empty();
+    }
+
+    public LongSummaryStatistics summaryStatistics() {
+        return collect(LongSummaryStatistics::new,
+                       LongSummaryStatistics::accept,
+                       LongSummaryStatistics::combine);
+    }
+
+    // Returns true if some element x of the stream satisfies
+    // predicate.test(x) == expected, stopping at the first such element.
+    private boolean cproverFindMatch(LongPredicate predicate,
+                                     boolean expected) {
+        if (predicate == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        boolean found = false;
+        while (!found && !head.cproverExhausted && head.cproverHasNext(size)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                found = predicate.test(x) == expected;
+        }
+        return found;
+    }
+
+    public boolean anyMatch(LongPredicate predicate) {
+        return cproverFindMatch(predicate, true);
+    }
+
+    public boolean allMatch(LongPredicate predicate) {
+        return !cproverFindMatch(predicate, false);
+    }
+
+    public boolean noneMatch(LongPredicate predicate) {
+        return !cproverFindMatch(predicate, true);
+    }
+
+    public OptionalLong findFirst() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = head.cproverSize;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            long x = cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                return OptionalLong.of(x);
+        }
+        return OptionalLong.empty();
+    }
+
+    public OptionalLong findAny() {
+        return findFirst();
+    }
+
+    // BaseStream
+
+    /**
+     * @diffblue.noSupport
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public Spliterator.OfLong spliterator() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    public boolean isParallel() {
+        return cproverHead.cproverParallel;
+    }
+
+    public LongStream sequential() {
+        cproverHead.cproverParallel = false;
+        return this;
+    }
+
+    public LongStream parallel() {
+        cproverHead.cproverParallel = true;
+        return this;
+    }
+
+    public LongStream unordered() {
+        return this;
+    }
+
+    public LongStream onClose(Runnable closeHandler) {
+        cproverHead.cproverAddCloseHandler(closeHandler);
+        return this;
+    }
+
+    public void close() {
+        cproverLinkedOrConsumed = true;
+        cproverHead.cproverRunCloseHandlers();
+    }
+}
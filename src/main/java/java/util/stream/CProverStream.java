@@ -0,0 +1,794 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.cprover.CProver;
+
+/**
+ * A sequential {@link Stream} over the first {@code size} elements of an
+ * array, in which all the stages of a pipeline are evaluated in a single
+ * loop over that array.
+ *
+ * <p>This class is not present in the jdk. The streams of the jdk are built
+ * from a {@link Spliterator} by {@code StreamSupport}, and their terminal
+ * operations push the elements through a chain of {@code Sink} objects created
+ * by {@code AbstractPipeline}. Executing that machinery symbolically is very
+ * expensive, and the spliterators of the collections in the model are not
+ * modelled. Instead, each intermediate operation of this class only records
+ * a stage, and each terminal operation runs one loop over the source array,
+ * applying the stages from the source to the current one to every element.
+ * The number of stages is known when the terminal operation starts, so only
+ * the loop over the source elements depends on the input.
+ *
+ * @param <T> the type of the stream elements
+ *
+ * @diffblue.limitedSupport
+ * <ul>
+ * <li>The elements of the source are bound when the stream is created, not
+ *     when the terminal operation starts.</li>
+ * <li>{@code sorted} and {@code distinct} need all the previous elements,
+ *     so they evaluate the pipeline up to that point into a list and start a
+ *     new pipeline from it.</li>
+ * <li>{@code flatMap} starts a new pipeline, whose source elements are
+ *     pulled from the previous stages one at a time when the terminal
+ *     operation runs. As in the jdk, the stream returned by the mapper is
+ *     traversed completely and closed before its first element is passed
+ *     on.</li>
+ * <li>The {@code flatMapTo*} methods and {@code spliterator} are not
+ *     modelled.</li>
+ * <li>{@code collect(Collector)} always applies the finisher of the
+ *     collector, which is the identity for collectors with the
+ *     {@code IDENTITY_FINISH} characteristic.</li>
+ * <li>Parallel streams are evaluated in the calling thread, in encounter
+ *     order. See {@link #cproverSplitParallel}.</li>
+ * </ul>
+ */
+public final class CProverStream<T> implements Stream<T> {
+
+    // Kinds of stages
+    private static final int SOURCE = 0;
+    private static final int FILTER = 1;
+    private static final int MAP = 2;
+    private static final int PEEK = 3;
+    private static final int SKIP = 4;
+    private static final int LIMIT = 5;
+    private static final int INT_TO_OBJ = 6;
+    private static final int LONG_TO_OBJ = 7;
+    private static final int DOUBLE_TO_OBJ = 8;
+
+    // The source elements of the pipeline are the first cproverSize elements
+    // of cproverData. They are shared by all the stages. For a pipeline
+    // started by flatMap, cproverData is null and cproverSize is
+    // Integer.MAX_VALUE, as the number of source elements is not known.
+    final Object[] cproverData;
+    final int cproverSize;
+
+    // The source stage of the pipeline, which holds the state shared by all
+    // stages during the terminal operation.
+    final CProverStream<?> cproverHead;
+
+    // The previous stage, or null for the source stage and for the
+    // INT_TO_OBJ, LONG_TO_OBJ and DOUBLE_TO_OBJ stages, whose previous stage
+    // is the CProverIntStream, CProverLongStream or CProverDoubleStream
+    // cproverPrimitiveUpstream.
+    private final CProverStream<?> cproverUpstream;
+    private final Object cproverPrimitiveUpstream;
+
+    // One of the stage kinds above.
+    private final int cproverKind;
+
+    // The Predicate, Function or Consumer applied by a FILTER, MAP or PEEK
+    // stage, and the IntFunction, LongFunction or DoubleFunction applied by
+    // an INT_TO_OBJ, LONG_TO_OBJ or DOUBLE_TO_OBJ stage.
+    private final Object cproverOperation;
+
+    // The argument of a SKIP or LIMIT stage, and the number of elements that
+    // reached that stage so far.
+    private final long cproverBound;
+    private long cproverCount;
+
+    // Set once this stage has been used by an intermediate or terminal
+    // operation, since a stream can only be operated upon once.
+    private boolean cproverLinkedOrConsumed;
+
+    /**
+     * When set, the reduce and collect operations of parallel streams split
+     * their source in two halves, reduce each half separately and combine the
+     * two partial results, instead of reducing all the elements in a single
+     * pass. This can be set by a test harness to check that the combiners
+     * used by the code under test are associative and respect the identity.
+     * By default, parallel streams are evaluated exactly like sequential
+     * ones, which gives the same result for non-interfering, associative
+     * operations.
+     */
+    public static boolean cproverSplitParallel = false;
+
+    // Pipeline state, only used in the source stage.
+    // Set when the last element evaluated was dropped by a stage.
+    boolean cproverDropped;
+    // Set when a LIMIT stage will not let any other element through.
+    boolean cproverExhausted;
+    boolean cproverParallel;
+    ArrayList<Runnable> cproverCloseHandlers;
+    // The index in cproverData of the next source element to evaluate.
+    private int cproverCursor;
+    // For a pipeline started by flatMap, the stage the mapper is applied to,
+    // the mapper, and the elements of the stream it returned for the last
+    // element of that stage with the index of the next one to evaluate.
+    private CProverStream<?> cproverFlatUpstream;
+    private Function<Object, ? extends Stream<?>> cproverFlatMapper;
+    private ArrayList<Object> cproverInner;
+    private int cproverInnerIndex;
+
+    private CProverStream(Object[] data, int size) {
+        cproverData = data;
+        cproverSize = size;
+        cproverHead = this;
+        cproverUpstream = null;
+        cproverPrimitiveUpstream = null;
+        cproverKind = SOURCE;
+        cproverOperation = null;
+        cproverBound = 0L;
+    }
+
+    private CProverStream(CProverStream<?> upstream, int kind,
+                          Object operation, long bound) {
+        cproverData = upstream.cproverData;
+        cproverSize = upstream.cproverSize;
+        cproverHead = upstream.cproverHead;
+        cproverUpstream = upstream;
+        cproverPrimitiveUpstream = null;
+        cproverKind = kind;
+        cproverOperation = operation;
+        cproverBound = bound;
+    }
+
+    private CProverStream(CProverStream<?> head, int kind, Object upstream,
+                          Object mapper) {
+        cproverData = head.cproverData;
+        cproverSize = head.cproverSize;
+        cproverHead = head;
+        cproverUpstream = null;
+        cproverPrimitiveUpstream = upstream;
+        cproverKind = kind;
+        cproverOperation = mapper;
+        cproverBound = 0L;
+    }
+
+    CProverStream(CProverIntStream upstream, IntFunction<?> mapper) {
+        this(upstream.cproverHead, INT_TO_OBJ, upstream, mapper);
+    }
+
+    CProverStream(CProverLongStream upstream, LongFunction<?> mapper) {
+        this(upstream.cproverHead, LONG_TO_OBJ, upstream, mapper);
+    }
+
+    CProverStream(CProverDoubleStream upstream, DoubleFunction<?> mapper) {
+        this(upstream.cproverHead, DOUBLE_TO_OBJ, upstream, mapper);
+    }
+
+    /**
+     * Creates a sequential stream over the first {@code size} elements of
+     * {@code data}. The array is not copied.
+     *
+     * @param <T> the type of the stream elements
+     * @param data array containing the source elements
+     * @param size number of source elements
+     * @return a new sequential stream
+     */
+    public static <T> Stream<T> cproverOf(Object[] data, int size) {
+        return new CProverStream<T>(data, size);
+    }
+
+    // Marks this stage as used, throwing an IllegalStateException if it was
+    // already used. The exception message is omitted, as string operations
+    // can significantly slow down JBMC.
+    void cproverLink() {
+        if (cproverLinkedOrConsumed)
+            throw new IllegalStateException();
+        cproverLinkedOrConsumed = true;
+    }
+
+    private <R> CProverStream<R> cproverAppend(int kind, Object operation,
+                                               long bound) {
+        cproverLink();
+        return new CProverStream<R>(this, kind, operation, bound);
+    }
+
+    // Applies the stages from the source up to this one to a source element
+    // and returns the result. If one of the stages drops the element,
+    // cproverHead.cproverDropped is set and the result is meaningless.
+    // The recursion depth is the number of stages, which does not depend on
+    // the input.
+    @SuppressWarnings("unchecked")
+    Object cproverEvaluate(Object element) {
+        if (cproverKind == SOURCE) {
+            cproverDropped = false;
+            return element;
+        }
+        CProverStream<?> head = cproverHead;
+        if (cproverKind == INT_TO_OBJ) {
+            int i = ((CProverIntStream) cproverPrimitiveUpstream)
+                .cproverEvaluate(element);
+            if (head.cproverDropped)
+                return null;
+            return ((IntFunction<Object>) cproverOperation).apply(i);
+        }
+        if (cproverKind == LONG_TO_OBJ) {
+            long l = ((CProverLongStream) cproverPrimitiveUpstream)
+                .cproverEvaluate(element);
+            if (head.cproverDropped)
+                return null;
+            return ((LongFunction<Object>) cproverOperation).apply(l);
+        }
+        if (cproverKind == DOUBLE_TO_OBJ) {
+            double d = ((CProverDoubleStream) cproverPrimitiveUpstream)
+                .cproverEvaluate(element);
+            if (head.cproverDropped)
+                return null;
+            return ((DoubleFunction<Object>) cproverOperation).apply(d);
+        }
+        Object x = cproverUpstream.cproverEvaluate(element);
+        if (head.cproverDropped)
+            return x;
+        switch (cproverKind) {
+            case FILTER:
+                if (!((Predicate<Object>) cproverOperation).test(x))
+                    head.cproverDropped = true;
+                return x;
+            case MAP:
+                return ((Function<Object, Object>) cproverOperation).apply(x);
+            case PEEK:
+                ((Consumer<Object>) cproverOperation).accept(x);
+                return x;
+            case SKIP:
+                if (cproverCount < cproverBound) {
+                    cproverCount++;
+                    head.cproverDropped = true;
+                }
+                return x;
+            default: // LIMIT
+                cproverCount++;
+                if (cproverCount >= cproverBound)
+                    head.cproverExhausted = true;
+                return x;
+        }
+    }
+
+    // Returns true if there is a source element left to evaluate whose index
+    // is below to. Only used in the source stage. For a pipeline started by
+    // flatMap, to is ignored, and the next elements are obtained by pulling
+    // one element from the previous pipeline and traversing the stream the
+    // mapper returns for it, until that stream has some elements or the
+    // previous pipeline has none left.
+    @SuppressWarnings("unchecked")
+    boolean cproverHasNext(int to) {
+        if (cproverData != null)
+            return cproverCursor < to;
+        while (cproverInner == null || cproverInnerIndex == cproverInner.size()) {
+            cproverInner = null;
+            CProverStream<?> upstream = cproverFlatUpstream;
+            CProverStream<?> upstreamHead = upstream.cproverHead;
+            if (upstreamHead.cproverExhausted
+                    || !upstreamHead.cproverHasNext(upstream.cproverSize))
+                return false;
+            Object x = upstream.cproverEvaluate(upstreamHead.cproverNext());
+            if (!upstreamHead.cproverDropped) {
+                Stream<?> s = cproverFlatMapper.apply(x);
+                if (s != null) {
+                    ArrayList<Object> inner = new ArrayList<Object>();
+                    Iterator<?> it = s.sequential().iterator();
+                    while (it.hasNext())
+                        inner.add(it.next());
+                    s.close();
+                    cproverInner = inner;
+                    cproverInnerIndex = 0;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Returns the next source element, after cproverHasNext returned true.
+    Object cproverNext() {
+        if (cproverData != null)
+            return cproverData[cproverCursor++];
+        return cproverInner.get(cproverInnerIndex++);
+    }
+
+    // Evaluates the pipeline into a new list, for operations that need all
+    // the elements before they can produce their first one.
+    @SuppressWarnings("unchecked")
+    private ArrayList<T> cproverToList() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = cproverSize;
+        ArrayList<T> list = new ArrayList<T>();
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                list.add(x);
+        }
+        return list;
+    }
+
+    // Starts a new pipeline over the elements of list, which keeps the
+    // parallel flag and the close handlers of this one.
+    private <R> Stream<R> cproverRestart(ArrayList<R> list) {
+        CProverStream<R> result =
+            new CProverStream<R>(list.toArray(), list.size());
+        result.cproverParallel = cproverHead.cproverParallel;
+        result.cproverCloseHandlers = cproverHead.cproverCloseHandlers;
+        return result;
+    }
+
+    // Intermediate operations
+
+    public Stream<T> filter(Predicate<? super T> predicate) {
+        if (predicate == null)
+            throw new NullPointerException();
+        return cproverAppend(FILTER, predicate, 0L);
+    }
+
+    public <R> Stream<R> map(Function<? super T, ? extends R> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        return cproverAppend(MAP, mapper, 0L);
+    }
+
+    public IntStream mapToInt(ToIntFunction<? super T> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        cproverLink();
+        return new CProverIntStream(this, mapper);
+    }
+
+    public LongStream mapToLong(ToLongFunction<? super T> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        cproverLink();
+        return new CProverLongStream(this, mapper);
+    }
+
+    public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        cproverLink();
+        return new CProverDoubleStream(this, mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> Stream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
+        if (mapper == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<R> result =
+            new CProverStream<R>(null, Integer.MAX_VALUE);
+        result.cproverFlatUpstream = this;
+        result.cproverFlatMapper =
+            (Function<Object, ? extends Stream<?>>) mapper;
+        result.cproverParallel = cproverHead.cproverParallel;
+        result.cproverCloseHandlers = cproverHead.cproverCloseHandlers;
+        return result;
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    public Stream<T> distinct() {
+        ArrayList<T> elements = cproverToList();
+        ArrayList<T> list = new ArrayList<T>();
+        for (T x : elements) {
+            if (!list.contains(x))
+                list.add(x);
+        }
+        return cproverRestart(list);
+    }
+
+    public Stream<T> sorted() {
+        return sorted(null);
+    }
+
+    public Stream<T> sorted(Comparator<? super T> comparator) {
+        ArrayList<T> list = cproverToList();
+        list.sort(comparator);
+        return cproverRestart(list);
+    }
+
+    public Stream<T> peek(Consumer<? super T> action) {
+        if (action == null)
+            throw new NullPointerException();
+        return cproverAppend(PEEK, action, 0L);
+    }
+
+    public Stream<T> limit(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException();
+        CProverStream<T> result = cproverAppend(LIMIT, null, maxSize);
+        if (maxSize == 0)
+            cproverHead.cproverExhausted = true;
+        return result;
+    }
+
+    public Stream<T> skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException();
+        if (n == 0)
+            return this;
+        return cproverAppend(SKIP, null, n);
+    }
+
+    // Terminal operations
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        if (action == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = cproverSize;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                action.accept(x);
+        }
+    }
+
+    public void forEachOrdered(Consumer<? super T> action) {
+        forEach(action);
+    }
+
+    public Object[] toArray() {
+        return toArray(Object[]::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <A> A[] toArray(IntFunction<A[]> generator) {
+        ArrayList<T> elements = cproverToList();
+        int n = elements.size();
+        A[] result = generator.apply(n);
+        if (result.length != n)
+            throw new IllegalStateException();
+        for (int i = 0; i < n; i++)
+            result[i] = (A) elements.get(i);
+        return result;
+    }
+
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        return reduce(identity, accumulator, accumulator);
+    }
+
+    public Optional<T> reduce(BinaryOperator<T> accumulator) {
+        if (accumulator == null)
+            throw new NullPointerException();
+        cproverLink();
+        int split = cproverSplitPoint();
+        Optional<T> result = cproverReduceRange(accumulator, split);
+        if (split < cproverSize) {
+            Optional<T> right = cproverReduceRange(accumulator, cproverSize);
+            if (!result.isPresent())
+                result = right;
+            else if (right.isPresent())
+                result = Optional.of(
+                    accumulator.apply(result.get(), right.get()));
+        }
+        return result;
+    }
+
+    public <U> U reduce(U identity,
+                        BiFunction<U, ? super T, U> accumulator,
+                        BinaryOperator<U> combiner) {
+        if (accumulator == null || combiner == null)
+            throw new NullPointerException();
+        cproverLink();
+        int split = cproverSplitPoint();
+        U result = cproverReduceRange(identity, accumulator, split);
+        if (split < cproverSize) {
+            U right = cproverReduceRange(identity, accumulator, cproverSize);
+            result = combiner.apply(result, right);
+        }
+        return result;
+    }
+
+    public <R> R collect(Supplier<R> supplier,
+                         BiConsumer<R, ? super T> accumulator,
+                         BiConsumer<R, R> combiner) {
+        if (supplier == null || accumulator == null || combiner == null)
+            throw new NullPointerException();
+        cproverLink();
+        int split = cproverSplitPoint();
+        R container = supplier.get();
+        cproverCollectRange(container, accumulator, split);
+        if (split < cproverSize) {
+            R right = supplier.get();
+            cproverCollectRange(right, accumulator, cproverSize);
+            combiner.accept(container, right);
+        }
+        return container;
+    }
+
+    // DIFFBLUE MODEL LIBRARY
+    // The jdk only applies the finisher if the collector does not have the
+    // IDENTITY_FINISH characteristic. We always apply it, to avoid looking
+    // up the characteristics set, since the finisher of such collectors is
+    // the identity.
+    public <R, A> R collect(Collector<? super T, A, R> collector) {
+        if (collector == null)
+            throw new NullPointerException();
+        cproverLink();
+        int split = cproverSplitPoint();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        A container = collector.supplier().get();
+        cproverCollectRange(container, accumulator, split);
+        if (split < cproverSize) {
+            A right = collector.supplier().get();
+            cproverCollectRange(right, accumulator, cproverSize);
+            container = collector.combiner().apply(container, right);
+        }
+        return collector.finisher().apply(container);
+    }
+
+    // Returns the index at which the source elements are split between two
+    // partial results by the reduce and collect operations. This is the size
+    // of the source, meaning no split, unless the stream is parallel and
+    // cproverSplitParallel is set. In that case the source is split in the
+    // middle, like the spliterators of array-based collections do, so that
+    // combiners which are not associative or do not respect the identity
+    // give a different result than the sequential evaluation would. The
+    // source of a pipeline started by flatMap is never split, as its size
+    // is not known.
+    private int cproverSplitPoint() {
+        int size = cproverSize;
+        CProverStream<?> head = cproverHead;
+        if (cproverSplitParallel && head.cproverParallel
+                && head.cproverData != null)
+            return size >>> 1;
+        return size;
+    }
+
+    // Reduces the elements of the stream that were not evaluated yet and
+    // whose source index is below to. The elements are evaluated in
+    // encounter order, so the skip and limit stages behave as in the
+    // sequential case.
+    @SuppressWarnings("unchecked")
+    private Optional<T> cproverReduceRange(BinaryOperator<T> accumulator,
+                                           int to) {
+        CProverStream<?> head = cproverHead;
+        boolean foundAny = false;
+        T result = null;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped) {
+                if (foundAny) {
+                    result = accumulator.apply(result, x);
+                } else {
+                    foundAny = true;
+                    result = x;
+                }
+            }
+        }
+        return foundAny ? Optional.of(result) : Optional.<T>empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> U cproverReduceRange(U identity,
+                                     BiFunction<U, ? super T, U> accumulator,
+                                     int to) {
+        CProverStream<?> head = cproverHead;
+        U result = identity;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                result = accumulator.apply(result, x);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void cproverCollectRange(R container,
+                                         BiConsumer<R, ? super T> accumulator,
+                                         int to) {
+        CProverStream<?> head = cproverHead;
+        while (!head.cproverExhausted && head.cproverHasNext(to)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                accumulator.accept(container, x);
+        }
+    }
+
+    public Optional<T> min(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new NullPointerException();
+        return reduce((a, b) -> comparator.compare(a, b) <= 0 ? a : b);
+    }
+
+    public Optional<T> max(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new NullPointerException();
+        return reduce((a, b) -> comparator.compare(a, b) >= 0 ? a : b);
+    }
+
+    public long count() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = cproverSize;
+        long count = 0;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                count++;
+        }
+        return count;
+    }
+
+    // Returns true if some element x of the stream satisfies
+    // predicate.test(x) == expected, stopping at the first such element.
+    @SuppressWarnings("unchecked")
+    private boolean cproverFindMatch(Predicate<? super T> predicate,
+                                     boolean expected) {
+        if (predicate == null)
+            throw new NullPointerException();
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = cproverSize;
+        boolean found = false;
+        while (!found && !head.cproverExhausted && head.cproverHasNext(size)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                found = predicate.test(x) == expected;
+        }
+        return found;
+    }
+
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        return cproverFindMatch(predicate, true);
+    }
+
+    public boolean allMatch(Predicate<? super T> predicate) {
+        return !cproverFindMatch(predicate, false);
+    }
+
+    public boolean noneMatch(Predicate<? super T> predicate) {
+        return !cproverFindMatch(predicate, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<T> findFirst() {
+        cproverLink();
+        CProverStream<?> head = cproverHead;
+        int size = cproverSize;
+        while (!head.cproverExhausted && head.cproverHasNext(size)) {
+            T x = (T) cproverEvaluate(head.cproverNext());
+            if (!head.cproverDropped)
+                return Optional.of(x);
+        }
+        return Optional.empty();
+    }
+
+    public Optional<T> findAny() {
+        return findFirst();
+    }
+
+    // BaseStream
+
+    public Iterator<T> iterator() {
+        return cproverToList().iterator();
+    }
+
+    /**
+     * @diffblue.noSupport
+     */
+    public Spliterator<T> spliterator() {
+        CProver.notModelled();
+        return CProver.nondetWithoutNullForNotModelled();
+    }
+
+    public boolean isParallel() {
+        return cproverHead.cproverParallel;
+    }
+
+    public Stream<T> sequential() {
+        cproverHead.cproverParallel = false;
+        return this;
+    }
+
+    public Stream<T> parallel() {
+        cproverHead.cproverParallel = true;
+        return this;
+    }
+
+    public Stream<T> unordered() {
+        return this;
+    }
+
+    public Stream<T> onClose(Runnable closeHandler) {
+        cproverHead.cproverAddCloseHandler(closeHandler);
+        return this;
+    }
+
+    public void close() {
+        cproverLinkedOrConsumed = true;
+        cproverHead.cproverRunCloseHandlers();
+    }
+
+    // Registers a close handler on the source stage.
+    void cproverAddCloseHandler(Runnable closeHandler) {
+        if (closeHandler == null)
+            throw new NullPointerException();
+        if (cproverCloseHandlers == null)
+            cproverCloseHandlers = new ArrayList<Runnable>();
+        cproverCloseHandlers.add(closeHandler);
+    }
+
+    // Runs the close handlers registered on the source stage, at most once.
+    void cproverRunCloseHandlers() {
+        ArrayList<Runnable> handlers = cproverCloseHandlers;
+        cproverCloseHandlers = null;
+        if (handlers != null) {
+            for (Runnable handler : handlers)
+                handler.run();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 1996, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sun.misc;
+
+import org.cprover.CProver;
+
+/**
+ * A class for converting between ASCII and decimal representations of a single
+ * or double precision floating point number.
+ *
+ * DIFFBLUE MODEL LIBRARY
+ * Only the parsing of decimal strings is modelled. The whole syntax accepted
+ * by the JDK is recognised, so that exactly the same strings are rejected, but
+ * values are only computed when the JDK computes them exactly too: when the
+ * significant digits fit in the mantissa and the decimal exponent is small
+ * enough for the power of ten to be exact, a single multiplication or
+ * division gives the correctly rounded result. Other values, including
+ * those of valid hexadecimal strings, are not modelled.
+ */
+public class FloatingDecimal {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private FloatingDecimal() {}
+
+    static final int MAX_DECIMAL_DIGITS = 15;
+    static final int SINGLE_MAX_DECIMAL_DIGITS = 7;
+
+    private static final double[] SMALL_10_POW = {
+        1.0e0,
+        1.0e1, 1.0e2, 1.0e3, 1.0e4, 1.0e5,
+        1.0e6, 1.0e7, 1.0e8, 1.0e9, 1.0e10,
+        1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15,
+        1.0e16, 1.0e17, 1.0e18, 1.0e19, 1.0e20,
+        1.0e21, 1.0e22
+    };
+
+    private static final float[] SINGLE_SMALL_10_POW = {
+        1.0e0f,
+        1.0e1f, 1.0e2f, 1.0e3f, 1.0e4f, 1.0e5f,
+        1.0e6f, 1.0e7f, 1.0e8f, 1.0e9f, 1.0e10f
+    };
+
+    private static final int MAX_SMALL_TEN = SMALL_10_POW.length - 1;
+    private static final int SINGLE_MAX_SMALL_TEN = SINGLE_SMALL_10_POW.length - 1;
+
+    // DIFFBLUE MODEL LIBRARY
+    // Kinds of strings recognised by readJavaFormatString.
+    private static final int DECIMAL = 0;
+    private static final int NOT_A_NUMBER = 1;
+    private static final int INFINITY = 2;
+    private static final int HEXADECIMAL = 3;
+
+    /**
+     * The result of reading a floating-point string: a sign, and either a
+     * special value or the decimal value
+     * {@code mantissa * 10^decExponent}, where the mantissa holds the
+     * {@code nDigits} significant digits of the string without leading or
+     * trailing zeros.
+     */
+    static final class ASCIIToBinaryBuffer {
+        boolean isNegative;
+        int kind;
+        int decExponent;
+        long mantissa;
+        int nDigits;
+
+        double doubleValue() {
+            if (kind == NOT_A_NUMBER) {
+                return Double.NaN;
+            }
+            double value;
+            if (kind == INFINITY) {
+                value = Double.POSITIVE_INFINITY;
+            } else if (kind == DECIMAL && nDigits == 0) {
+                value = 0.0;
+            } else if (kind == DECIMAL && nDigits <= MAX_DECIMAL_DIGITS
+                    && decExponent >= -MAX_SMALL_TEN
+                    && decExponent <= MAX_SMALL_TEN) {
+                value = (double) mantissa;
+                if (decExponent >= 0) {
+                    value *= SMALL_10_POW[decExponent];
+                } else {
+                    value /= SMALL_10_POW[-decExponent];
+                }
+            } else {
+                CProver.notModelled();
+                return CProver.nondetDouble();
+            }
+            return isNegative ? -value : value;
+        }
+
+        float floatValue() {
+            if (kind == NOT_A_NUMBER) {
+                return Float.NaN;
+            }
+            float value;
+            if (kind == INFINITY) {
+                value = Float.POSITIVE_INFINITY;
+            } else if (kind == DECIMAL && nDigits == 0) {
+                value = 0.0f;
+            } else if (kind == DECIMAL && nDigits <= SINGLE_MAX_DECIMAL_DIGITS
+                    && decExponent >= -SINGLE_MAX_SMALL_TEN
+                    && decExponent <= SINGLE_MAX_SMALL_TEN) {
+                value = (float) mantissa;
+                if (decExponent >= 0) {
+                    value *= SINGLE_SMALL_10_POW[decExponent];
+                } else {
+                    value /= SINGLE_SMALL_10_POW[-decExponent];
+                }
+            } else {
+                CProver.notModelled();
+                return CProver.nondetFloat();
+            }
+            return isNegative ? -value : value;
+        }
+    }
+
+    public static double parseDouble(String s) throws NumberFormatException {
+        return readJavaFormatString(s).doubleValue();
+    }
+
+    public static float parseFloat(String s) throws NumberFormatException {
+        return readJavaFormatString(s).floatValue();
+    }
+
+    static ASCIIToBinaryBuffer readJavaFormatString(String in)
+            throws NumberFormatException {
+        ASCIIToBinaryBuffer buf = new ASCIIToBinaryBuffer();
+        int len = in.length();
+        int i = 0;
+        // DIFFBLUE MODEL LIBRARY
+        // String.trim is handled internally in CBMC, so the whitespace is
+        // skipped by hand.
+        while (i < len && in.charAt(i) <= ' ') {
+            i++;
+        }
+        while (len > i && in.charAt(len - 1) <= ' ') {
+            len--;
+        }
+        if (i == len) {
+            // throw new NumberFormatException("empty String");
+            throw new NumberFormatException();
+        }
+        char c = in.charAt(i);
+        if (c == '-') {
+            buf.isNegative = true;
+            i++;
+        } else if (c == '+') {
+            i++;
+        }
+        if (i == len) {
+            throw new NumberFormatException();
+        }
+        c = in.charAt(i);
+        if (c == 'N') {
+            if (len - i == 3 && in.startsWith("NaN", i)) {
+                buf.kind = NOT_A_NUMBER;
+                return buf;
+            }
+            throw new NumberFormatException();
+        }
+        if (c == 'I') {
+            if (len - i == 8 && in.startsWith("Infinity", i)) {
+                buf.kind = INFINITY;
+                return buf;
+            }
+            throw new NumberFormatException();
+        }
+        if (c == '0' && i + 1 < len) {
+            char x = in.charAt(i + 1);
+            if (x == 'x' || x == 'X') {
+                // return parseHexString(in);
+                validateHexString(in, i + 2, len);
+                buf.kind = HEXADECIMAL;
+                return buf;
+            }
+        }
+
+        boolean digitSeen = false;
+        boolean decSeen = false;
+        int nTrailZero = 0;
+        int decExp = 0;
+        long mantissa = 0;
+        int nDigits = 0;
+        while (i < len) {
+            c = in.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitSeen = true;
+                if (c != '0') {
+                    nDigits += nTrailZero + 1;
+                    if (nDigits <= MAX_DECIMAL_DIGITS) {
+                        for (; nTrailZero > 0; nTrailZero--) {
+                            mantissa *= 10;
+                        }
+                        mantissa = mantissa * 10 + (c - '0');
+                    }
+                    nTrailZero = 0;
+                } else if (nDigits > 0) {
+                    nTrailZero++;
+                }
+                if (decSeen) {
+                    decExp--;
+                }
+            } else if (c == '.' && !decSeen) {
+                decSeen = true;
+            } else {
+                break;
+            }
+            i++;
+        }
+        if (!digitSeen) {
+            throw new NumberFormatException();
+        }
+        // Trailing zeros of the digit string scale the mantissa instead
+        decExp += nTrailZero;
+
+        if (i < len && (c == 'e' || c == 'E')) {
+            i++;
+            boolean expNegative = false;
+            if (i < len) {
+                c = in.charAt(i);
+                if (c == '-') {
+                    expNegative = true;
+                    i++;
+                } else if (c == '+') {
+                    i++;
+                }
+            }
+            int expVal = 0;
+            boolean expDigitSeen = false;
+            while (i < len) {
+                c = in.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                expDigitSeen = true;
+                // Saturate well beyond the range of any double
+                if (expVal < 100000) {
+                    expVal = expVal * 10 + (c - '0');
+                }
+                i++;
+            }
+            if (!expDigitSeen) {
+                throw new NumberFormatException();
+            }
+            decExp += expNegative ? -expVal : expVal;
+        }
+
+        // A type suffix is only allowed as the last character
+        if (i == len - 1) {
+            c = in.charAt(i);
+            if (c == 'f' || c == 'F' || c == 'd' || c == 'D') {
+                i++;
+            }
+        }
+        if (i < len) {
+            // throw new NumberFormatException("For input string: \"" + in + "\"");
+            throw new NumberFormatException();
+        }
+
+        buf.kind = DECIMAL;
+        buf.decExponent = decExp;
+        buf.mantissa = mantissa;
+        buf.nDigits = nDigits;
+        return buf;
+    }
+
+    /**
+     * Checks that the characters of {@code in} between {@code i}, just after
+     * the {@code 0x} prefix, and {@code len} form a hexadecimal floating-point
+     * literal as accepted by the JDK.
+     *
+     * @throws NumberFormatException if the syntax is invalid
+     */
+    private static void validateHexString(String in, int i, int len)
+            throws NumberFormatException {
+        boolean digitSeen = false;
+        boolean dotSeen = false;
+        while (i < len) {
+            char c = in.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')
+                    || (c >= 'A' && c <= 'F')) {
+                digitSeen = true;
+            } else if (c == '.' && !dotSeen) {
+                dotSeen = true;
+            } else {
+                break;
+            }
+            i++;
+        }
+        // A binary exponent is mandatory
+        if (!digitSeen || i == len
+                || (in.charAt(i) != 'p' && in.charAt(i) != 'P')) {
+            throw new NumberFormatException();
+        }
+        i++;
+        if (i < len && (in.charAt(i) == '-' || in.charAt(i) == '+')) {
+            i++;
+        }
+        boolean expDigitSeen = false;
+        while (i < len && in.charAt(i) >= '0' && in.charAt(i) <= '9') {
+            expDigitSeen = true;
+            i++;
+        }
+        if (!expDigitSeen) {
+            throw new NumberFormatException();
+        }
+        if (i == len - 1) {
+            char c = in.charAt(i);
+            if (c == 'f' || c == 'F' || c == 'd' || c == 'D') {
+                i++;
+            }
+        }
+        if (i < len) {
+            throw new NumberFormatException();
+        }
+    }
+}